@@ -0,0 +1,33 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const USER_ID = __ENV.USER_ID || '1';
+const ORDER_ID = __ENV.ORDER_ID || '1';
+
+export const options = {
+    scenarios: {
+        orders_read: {
+            executor: 'ramping-vus',
+            startVUs: 50,
+            stages: [
+                { duration: '30s', target: 500 },
+                { duration: '1m', target: 2000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const headers = { headers: { 'X-User-Id': USER_ID } };
+
+    const order = http.get(`${BASE_URL}/api/order/${ORDER_ID}`, headers);
+    check(order, { 'order loaded': (r) => r.status === 200 });
+
+    const orders = http.get(`${BASE_URL}/api/order/status/NEW`, headers);
+    check(orders, { 'orders by status loaded': (r) => r.status === 200 || r.status === 404 });
+}
@@ -0,0 +1,103 @@
+package innowise.order_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DataSourceMetricsConfig {
+    private static final String NO_ENDPOINT = "none";
+
+    @Bean
+    public static BeanPostProcessor connectionHoldMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null
+                        && dataSource.getMetricRegistry() == null) {
+                    dataSource.setMetricsTrackerFactory(new ConnectionHoldMetricsTrackerFactory(meterRegistry));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static MetricsTrackerFactory connectionHoldMetricsTrackerFactory(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConnectionHoldMetricsTrackerFactory(meterRegistry);
+    }
+
+    private record ConnectionHoldMetricsTrackerFactory(ObjectProvider<MeterRegistry> meterRegistry)
+            implements MetricsTrackerFactory {
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            MeterRegistry registry = meterRegistry.getObject();
+            return new ConnectionHoldMetricsTracker(
+                    new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats), registry);
+        }
+    }
+
+    private record ConnectionHoldMetricsTracker(IMetricsTracker delegate, MeterRegistry meterRegistry)
+            implements IMetricsTracker {
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            HttpServletRequest request = currentRequest();
+            Timer.builder("db.connection.hold")
+                    .description("Time a database connection was held, by the endpoint that held it")
+                    .tag("uri", request == null ? NO_ENDPOINT : endpoint(request))
+                    .tag("method", request == null ? NO_ENDPOINT : request.getMethod())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry)
+                    .record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        private static HttpServletRequest currentRequest() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            return attributes instanceof ServletRequestAttributes servletAttributes
+                    ? servletAttributes.getRequest()
+                    : null;
+        }
+
+        private static String endpoint(HttpServletRequest request) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern == null ? "UNKNOWN" : pattern.toString();
+        }
+    }
+}
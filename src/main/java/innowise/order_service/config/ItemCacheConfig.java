@@ -0,0 +1,78 @@
+package innowise.order_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class ItemCacheConfig {
+    public static final String ITEM_REGION = "items";
+    public static final String ITEM_QUERY_REGION = "item-queries";
+    private static final String HIBERNATE_CACHE_MANAGER_URI = "urn:order-service:hibernate:";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "items.cache", name = "enabled", havingValue = "true")
+    public CacheManager hibernateCacheManager(ItemCacheProperties itemCacheProperties, MeterRegistry meterRegistry) {
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = cachingProvider.getCacheManager(
+                URI.create(HIBERNATE_CACHE_MANAGER_URI + UUID.randomUUID()), cachingProvider.getDefaultClassLoader());
+
+        createRegion(cacheManager, meterRegistry, ITEM_REGION,
+                itemCacheProperties.getMaximumSize(), itemCacheProperties.getExpireAfterWrite());
+        createRegion(cacheManager, meterRegistry, ITEM_QUERY_REGION,
+                itemCacheProperties.getQueryMaximumSize(), itemCacheProperties.getQueryExpireAfterWrite());
+        createRegion(cacheManager, meterRegistry, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                itemCacheProperties.getQueryMaximumSize(), itemCacheProperties.getQueryExpireAfterWrite());
+        createRegion(cacheManager, meterRegistry, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                null, null);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer itemCacheHibernatePropertiesCustomizer(
+            ObjectProvider<CacheManager> hibernateCacheManager) {
+        CacheManager cacheManager = hibernateCacheManager.getIfAvailable();
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheManager != null);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, cacheManager != null);
+            if (cacheManager != null) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry, String region,
+                              Long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+
+        JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(region, configuration));
+    }
+}
@@ -0,0 +1,19 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.cache")
+public class ItemCacheProperties {
+    private boolean enabled = false;
+    private long maximumSize = 10000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    private long queryMaximumSize = 1000;
+    private Duration queryExpireAfterWrite = Duration.ofMinutes(10);
+    private String invalidationTopic;
+}
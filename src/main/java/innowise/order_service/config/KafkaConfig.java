@@ -1,13 +1,119 @@
 package innowise.order_service.config;
 
+import innowise.order_service.service.kafka.PaymentAvroCodec;
+import innowise.order_service.service.kafka.PaymentEventSerializer;
+import innowise.order_service.service.kafka.PaymentMessageConverter;
+import innowise.order_service.service.kafka.PaymentRetryPublisher;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.support.converter.BatchMessagingMessageConverter;
 import org.springframework.kafka.support.converter.StringJsonMessageConverter;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 public class KafkaConfig {
     @Bean
-    public StringJsonMessageConverter jsonConverter() {
-        return new StringJsonMessageConverter();
+    public StringJsonMessageConverter jsonConverter(PaymentAvroCodec paymentAvroCodec) {
+        return new PaymentMessageConverter(paymentAvroCodec);
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer paymentEventSerializerCustomizer(
+            PaymentAvroCodec paymentAvroCodec,
+            PaymentSerializationProperties paymentSerializationProperties) {
+        return producerFactory -> ((DefaultKafkaProducerFactory<Object, Object>) producerFactory)
+                .setValueSerializer(new PaymentEventSerializer(paymentAvroCodec, paymentSerializationProperties));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payments.consumer.mode", havingValue = "single", matchIfMissing = true)
+    public CommonErrorHandler paymentSingleErrorHandler(PaymentConsumerProperties paymentConsumerProperties) {
+        return new DefaultErrorHandler(new FixedBackOff(
+                paymentConsumerProperties.getSingle().getRetryBackoff().toMillis(),
+                FixedBackOff.UNLIMITED_ATTEMPTS));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payments.consumer.mode", havingValue = "batch")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> paymentBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            StringJsonMessageConverter jsonConverter,
+            PaymentConsumerProperties paymentConsumerProperties) {
+        PaymentConsumerProperties.Batch batch = paymentConsumerProperties.getBatch();
+
+        Map<String, Object> consumerProperties = new HashMap<>(consumerFactory.getConfigurationProperties());
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batch.getMaxPollRecords());
+        consumerProperties.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batch.getFetchMinBytes());
+        consumerProperties.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) batch.getFetchMaxWait().toMillis());
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, withListeners(consumerProperties, consumerFactory));
+        factory.setBatchListener(true);
+        factory.setBatchMessageConverter(new BatchMessagingMessageConverter(jsonConverter));
+        factory.getContainerProperties().setAckMode(batch.getAckMode());
+        factory.getContainerProperties().setSyncCommits(batch.isSyncCommits());
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payments.consumer.mode", havingValue = "parallel")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> paymentParallelListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            PaymentConsumerProperties paymentConsumerProperties) {
+        Map<String, Object> consumerProperties = new HashMap<>(consumerFactory.getConfigurationProperties());
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                paymentConsumerProperties.getParallel().getMaxPollRecords());
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, withListeners(consumerProperties, consumerFactory));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(
+                paymentConsumerProperties.getParallel().getRetryBackoff().toMillis(),
+                FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+
+    @Bean
+    public RetryTopicConfiguration paymentRetryTopicConfiguration(PaymentRetryPublisher paymentRetryPublisher,
+                                                                  PaymentRetryProperties paymentRetryProperties) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopic(PaymentRetryPublisher.PAYMENTS_RETRY_TOPIC)
+                .maxAttempts(paymentRetryProperties.getAttempts())
+                .exponentialBackoff(paymentRetryProperties.getInitialDelay().toMillis(),
+                        paymentRetryProperties.getMultiplier(),
+                        paymentRetryProperties.getMaxDelay().toMillis())
+                .suffixTopicsWithIndexValues()
+                .retryTopicSuffix("")
+                .dltSuffix("-dlt")
+                .dltHandlerMethod("paymentRetryConsumerService", "handleDeadLetter")
+                .create(paymentRetryPublisher.getKafkaTemplate());
+    }
+
+    private static DefaultKafkaConsumerFactory<Object, Object> withListeners(Map<String, Object> consumerProperties,
+                                                                         ConsumerFactory<Object, Object> consumerFactory) {
+        DefaultKafkaConsumerFactory<Object, Object> tunedConsumerFactory =
+                new DefaultKafkaConsumerFactory<>(consumerProperties);
+        consumerFactory.getListeners().forEach(tunedConsumerFactory::addListener);
+        return tunedConsumerFactory;
     }
 }
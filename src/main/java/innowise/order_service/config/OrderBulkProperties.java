@@ -0,0 +1,12 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.bulk")
+public class OrderBulkProperties {
+    private int chunkSize = 100;
+}
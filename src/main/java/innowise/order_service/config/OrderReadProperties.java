@@ -0,0 +1,16 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.read")
+public class OrderReadProperties {
+    private boolean projection = false;
+    private int streamMaxOrders = 10000;
+    private Duration streamTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,22 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.backpressure")
+public class PaymentBackpressureProperties {
+    private boolean enabled = false;
+    private Duration checkInterval = Duration.ofMillis(500);
+    private int pausePendingConnections = 5;
+    private int resumePendingConnections = 0;
+    private Duration pauseLatency = Duration.ofMillis(250);
+    private Duration resumeLatency = Duration.ofMillis(100);
+    private int minLatencySamples = 20;
+    private Duration minPauseDuration = Duration.ofSeconds(1);
+    private Duration lagInterval = Duration.ofSeconds(15);
+}
@@ -0,0 +1,52 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.consumer")
+public class PaymentConsumerProperties {
+    private Mode mode = Mode.SINGLE;
+    private Single single = new Single();
+    private Batch batch = new Batch();
+    private Parallel parallel = new Parallel();
+
+    public enum Mode {
+        SINGLE,
+        BATCH,
+        PARALLEL
+    }
+
+    @Getter
+    @Setter
+    public static class Single {
+        private Duration retryBackoff = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private int maxPollRecords = 500;
+        private int fetchMinBytes = 1;
+        private Duration fetchMaxWait = Duration.ofMillis(500);
+        private ContainerProperties.AckMode ackMode = ContainerProperties.AckMode.BATCH;
+        private boolean syncCommits = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Parallel {
+        private int workers = 8;
+        private int maxPollRecords = 500;
+        private int maxInFlight = 1000;
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+        private int maxAttempts = 3;
+        private Duration retryBackoff = Duration.ofMillis(200);
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+}
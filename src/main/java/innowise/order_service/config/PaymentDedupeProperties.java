@@ -0,0 +1,17 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.dedupe")
+public class PaymentDedupeProperties {
+    private boolean enabled = true;
+    private long cacheSize = 100_000;
+    private Duration retention = Duration.ofDays(7);
+    private Duration pruneInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,20 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.outbox")
+public class PaymentOutboxProperties {
+    private boolean enabled = false;
+    private int batchSize = 100;
+    private int maxBatchesPerRun = 10;
+    private Duration relayInterval = Duration.ofMillis(500);
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    private Duration retention = Duration.ofDays(1);
+    private Duration pruneInterval = Duration.ofHours(1);
+}
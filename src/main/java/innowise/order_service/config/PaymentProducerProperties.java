@@ -0,0 +1,16 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.producer")
+public class PaymentProducerProperties {
+    private boolean keyed = false;
+    private int maxInFlight = 1000;
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
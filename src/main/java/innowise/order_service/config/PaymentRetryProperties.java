@@ -0,0 +1,19 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.retry")
+public class PaymentRetryProperties {
+    private int attempts = 4;
+    private Duration initialDelay = Duration.ofSeconds(1);
+    private double multiplier = 5.0;
+    private Duration maxDelay = Duration.ofMinutes(1);
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    private int replayBatchSize = 100;
+}
@@ -0,0 +1,24 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.serialization")
+public class PaymentSerializationProperties {
+    private Map<String, Format> topics = new HashMap<>();
+
+    public enum Format {
+        JSON,
+        AVRO
+    }
+
+    public Format formatFor(String topic) {
+        return topics.getOrDefault(topic, Format.JSON);
+    }
+}
@@ -0,0 +1,18 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payments.timeout")
+public class PaymentTimeoutProperties {
+    private boolean enabled = false;
+    private Duration timeout = Duration.ofMinutes(15);
+    private int batchSize = 200;
+    private int maxBatchesPerRun = 10;
+    private Duration sweepInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,151 @@
+package innowise.order_service.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    public static final String REPLICA_POOL_PREFIX = "replica-";
+    static final String PRIMARY = "primary";
+
+    private static final String REPLICATION_LAG_QUERY = "select case when pg_is_in_recovery() " +
+            "then coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) else 0 end";
+
+    private final Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+    private final ReplicaRoutingProperties replicaRoutingProperties;
+    private final Map<String, AtomicBoolean> healthy = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> lagMillis = new HashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    ReplicaRoutingProperties replicaRoutingProperties,
+                                    MeterRegistry meterRegistry,
+                                    MetricsTrackerFactory metricsTrackerFactory) {
+        this.replicaRoutingProperties = replicaRoutingProperties;
+        List<ReplicaRoutingProperties.Replica> replicaProperties = replicaRoutingProperties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            String name = REPLICA_POOL_PREFIX + (i + 1);
+            replicas.put(name, createReplicaPool(name, replicaProperties.get(i), metricsTrackerFactory));
+        }
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        replicas.keySet().forEach(name -> {
+            AtomicBoolean replicaHealthy = new AtomicBoolean();
+            AtomicLong replicaLag = new AtomicLong();
+            healthy.put(name, replicaHealthy);
+            lagMillis.put(name, replicaLag);
+            Gauge.builder("datasource.replica.healthy", replicaHealthy, value -> value.get() ? 1 : 0)
+                    .description("Whether read-only queries are routed to the replica")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", replicaLag, lag -> lag.get() / 1000.0)
+                    .description("Replication lag reported by the replica")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReadYourWritesContext.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+
+        List<String> healthyReplicas = healthy.entrySet().stream()
+                .filter(replica -> replica.getValue().get())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (healthyReplicas.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthyReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), healthyReplicas.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval:5s}",
+            initialDelayString = "${datasource.routing.health-check-interval:5s}")
+    public void checkReplicas() {
+        replicas.forEach((name, replica) -> {
+            boolean replicaHealthy = isHealthy(name, replica);
+            if (healthy.get(name).getAndSet(replicaHealthy) != replicaHealthy) {
+                if (replicaHealthy) {
+                    log.info("Replica {} is healthy, routing read-only queries to it", name);
+                } else {
+                    log.warn("Replica {} is unhealthy, routing its read-only queries to primary", name);
+                }
+            }
+        });
+    }
+
+    private HikariDataSource createReplicaPool(String name, ReplicaRoutingProperties.Replica replica,
+                                               MetricsTrackerFactory metricsTrackerFactory) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.getUrl());
+        config.setUsername(replica.getUsername());
+        config.setPassword(replica.getPassword());
+        config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        config.setReadOnly(true);
+        config.setConnectionTimeout(replicaRoutingProperties.getConnectionTimeout().toMillis());
+        config.setInitializationFailTimeout(-1);
+        config.setMetricsTrackerFactory(metricsTrackerFactory);
+        return new HikariDataSource(config);
+    }
+
+    private boolean isHealthy(String name, HikariDataSource replica) {
+        Duration maxLag = replicaRoutingProperties.getMaxReplicationLag();
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, replicaRoutingProperties.getConnectionTimeout().toSeconds()));
+            try (ResultSet lag = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+                lag.next();
+                long lagMillis = (long) (lag.getDouble(1) * 1000);
+                this.lagMillis.get(name).set(lagMillis);
+                if (lagMillis > maxLag.toMillis()) {
+                    log.warn("Replica {} is {} ms behind primary, allowed lag is {}", name, lagMillis, maxLag);
+                    return false;
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            log.warn("Health check of replica {} failed: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package innowise.order_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-service")
+public class UserServiceProperties {
+    private Cache cache = new Cache();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Enrichment enrichment = new Enrichment();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        private Duration refreshAfterWrite = Duration.ofMinutes(1);
+        private String invalidationTopic;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private boolean enabled = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Enrichment {
+        private boolean async = false;
+        private Duration timeout = Duration.ofMillis(500);
+    }
+}
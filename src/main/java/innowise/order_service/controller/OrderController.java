@@ -1,13 +1,22 @@
 package innowise.order_service.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.config.ReadYourWritesContext;
+import innowise.order_service.dto.order.OrderBulkCreateDto;
+import innowise.order_service.dto.order.OrderBulkResponseDto;
 import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderPageDto;
 import innowise.order_service.dto.order.OrderUpdateDto;
 import innowise.order_service.dto.order.OrderResponseDto;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.service.OrderBulkService;
 import innowise.order_service.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,7 +28,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -28,6 +42,8 @@ import java.util.List;
 @Slf4j
 public class OrderController {
     private final OrderService orderService;
+    private final OrderBulkService orderBulkService;
+    private final ObjectMapper objectMapper;
 
     private final String USER_ID_TOKEN = "X-User-Id";
 
@@ -38,6 +54,14 @@ public class OrderController {
         return orderService.addOrder(orderRequestDto, userId);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<OrderBulkResponseDto> addOrders(@Valid @RequestBody OrderBulkCreateDto orderBulkCreateDto,
+                                                          @RequestHeader("X-User-Id") Long userId) {
+        OrderBulkResponseDto response = orderBulkService.addOrders(orderBulkCreateDto, userId);
+        return ResponseEntity.status(response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(response);
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public OrderResponseDto getOrder(@PathVariable long id,
@@ -59,6 +83,49 @@ public class OrderController {
         return orderService.getOrdersByStatus(status, userId);
     }
 
+    @GetMapping("/status/{status}/page")
+    @ResponseStatus(HttpStatus.OK)
+    public OrderPageDto getOrdersPageByStatus(@PathVariable String status,
+                                              @RequestParam(defaultValue = "0") long after,
+                                              @RequestParam(defaultValue = "20") int size,
+                                              @RequestHeader("X-User-Id") Long userId) {
+        return orderService.getOrdersPageByStatus(status, userId, after, size);
+    }
+
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrdersByStatus(@PathVariable String status,
+                                                                      @RequestHeader("X-User-Id") Long userId) {
+        OrderStatus orderStatus = orderService.parseOrderStatus(status);
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        boolean primaryRequired = ReadYourWritesContext.isPrimaryRequired();
+
+        StreamingResponseBody body = outputStream -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            if (primaryRequired) {
+                ReadYourWritesContext.requirePrimary();
+            }
+            try {
+                orderService.streamOrdersByStatus(orderStatus, userId, order -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(order));
+                        outputStream.write('\n');
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                ReadYourWritesContext.clear();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public OrderResponseDto updateOrder(@PathVariable long id,
@@ -0,0 +1,35 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.dto.payment.PaymentDeadLetterDto;
+import innowise.order_service.service.payment.PaymentDeadLetterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@JmxEndpoint(id = "paymentdlt")
+@RequiredArgsConstructor
+public class PaymentDeadLetterEndpoint {
+    private final PaymentDeadLetterService paymentDeadLetterService;
+
+    @ReadOperation
+    public List<PaymentDeadLetterDto> pendingDeadLetters() {
+        return paymentDeadLetterService.getPendingDeadLetters();
+    }
+
+    @WriteOperation
+    public Map<String, Object> replayPending() {
+        return Map.of("replayed", paymentDeadLetterService.replayPending());
+    }
+
+    @WriteOperation
+    public Map<String, Object> replay(@Selector long id) {
+        return Map.of("id", id, "replayed", paymentDeadLetterService.replay(id));
+    }
+}
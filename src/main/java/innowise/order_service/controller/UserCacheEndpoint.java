@@ -0,0 +1,33 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.service.UserCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "usercache")
+@RequiredArgsConstructor
+public class UserCacheEndpoint {
+    private final UserCacheService userCacheService;
+
+    @ReadOperation
+    public Map<String, Object> cacheInfo() {
+        return Map.of("name", UserCacheService.CACHE_NAME, "size", userCacheService.size());
+    }
+
+    @DeleteOperation
+    public void evictAll() {
+        userCacheService.evictAll();
+    }
+
+    @DeleteOperation
+    public void evict(@Selector Long userId) {
+        userCacheService.evict(userId);
+    }
+}
@@ -0,0 +1,19 @@
+package innowise.order_service.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChangedEventDto {
+    public static final String ITEM_UPDATED = "ITEM_UPDATED";
+    public static final String ITEM_DELETED = "ITEM_DELETED";
+
+    private String eventType;
+    private Long itemId;
+    private long version;
+}
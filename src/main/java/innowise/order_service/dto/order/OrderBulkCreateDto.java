@@ -0,0 +1,24 @@
+package innowise.order_service.dto.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class OrderBulkCreateDto {
+    @Valid
+    @NotNull(message = "Bulk request must contain some orders")
+    @NotEmpty(message = "Bulk orders can't be empty")
+    @Size(max = 1000, message = "Bulk request can contain at most 1000 orders")
+    private List<OrderCreateDto> orders;
+}
@@ -0,0 +1,20 @@
+package innowise.order_service.dto.order;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class OrderBulkResponseDto {
+    private int created;
+
+    private int failed;
+
+    private List<OrderBulkResultDto> results;
+}
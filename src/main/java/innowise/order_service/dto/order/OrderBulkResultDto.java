@@ -0,0 +1,20 @@
+package innowise.order_service.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBulkResultDto {
+    private int index;
+
+    private OrderResponseDto order;
+
+    private String error;
+}
@@ -0,0 +1,18 @@
+package innowise.order_service.dto.order;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class OrderPageDto {
+    private List<OrderResponseDto> orders;
+
+    private Long nextCursor;
+}
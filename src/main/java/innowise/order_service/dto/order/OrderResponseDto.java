@@ -1,5 +1,6 @@
 package innowise.order_service.dto.order;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import innowise.order_service.dto.order_items.OrderItemResponseDto;
 import innowise.order_service.dto.user.UserResponseDto;
 import innowise.order_service.entity.OrderStatus;
@@ -26,5 +27,6 @@ public class OrderResponseDto {
 
     private List<OrderItemResponseDto> orderItems;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private UserResponseDto user;
 }
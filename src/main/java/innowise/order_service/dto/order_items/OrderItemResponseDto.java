@@ -1,12 +1,16 @@
 package innowise.order_service.dto.order_items;
 
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+
 @Getter
 @Setter
 @Builder
+@EqualsAndHashCode
 public class OrderItemResponseDto {
     private Long id;
 
@@ -14,5 +18,7 @@ public class OrderItemResponseDto {
 
     private Integer quantity;
 
+    private BigDecimal unitPrice;
+
     private String name;
 }
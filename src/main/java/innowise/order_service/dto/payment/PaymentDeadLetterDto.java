@@ -0,0 +1,18 @@
+package innowise.order_service.dto.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class PaymentDeadLetterDto {
+    private Long id;
+    private String messageKey;
+    private String payload;
+    private String exceptionMessage;
+    private LocalDateTime failedAt;
+}
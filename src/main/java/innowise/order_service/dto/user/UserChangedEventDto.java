@@ -0,0 +1,9 @@
+package innowise.order_service.dto.user;
+
+import lombok.Data;
+
+@Data
+public class UserChangedEventDto {
+    private String eventType;
+    private Long userId;
+}
@@ -13,10 +13,12 @@ import static org.mapstruct.ReportingPolicy.ERROR;
 @Mapper(componentModel = SPRING, unmappedTargetPolicy = ERROR)
 public interface ItemMapper {
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Item toItem(ItemRequestDto itemRequestDto);
 
     ItemResponseDto toItemResponseDto(Item item);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateItem(@MappingTarget Item item, ItemRequestDto itemRequestDto);
 }
\ No newline at end of file
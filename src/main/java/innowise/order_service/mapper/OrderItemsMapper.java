@@ -14,9 +14,11 @@ public interface OrderItemsMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "item", ignore = true)
     @Mapping(target = "order", ignore = true)
+    @Mapping(target = "unitPrice", ignore = true)
+    @Mapping(target = "itemName", ignore = true)
     OrderItem toOrderItem(OrderItemRequestDto orderItemRequestDto);
 
     @Mapping(target = "itemId", source = "item.id")
-    @Mapping(target = "name", source = "item.name")
+    @Mapping(target = "name", source = "itemName")
     OrderItemResponseDto toOrderItemResponseDto(OrderItem orderItem);
 }
\ No newline at end of file
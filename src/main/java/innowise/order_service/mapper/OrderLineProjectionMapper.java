@@ -0,0 +1,70 @@
+package innowise.order_service.mapper;
+
+import innowise.order_service.dto.order.OrderResponseDto;
+import innowise.order_service.dto.order_items.OrderItemResponseDto;
+import innowise.order_service.repository.projection.OrderLineProjection;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+@Component
+public class OrderLineProjectionMapper {
+    public List<OrderResponseDto> toOrderResponseDtos(List<OrderLineProjection> lines) {
+        Map<Long, OrderResponseDto> orders = new LinkedHashMap<>();
+
+        for (OrderLineProjection line : lines) {
+            addOrderItem(orders.computeIfAbsent(line.orderId(), orderId -> toOrderResponseDto(line)), line);
+        }
+
+        return new ArrayList<>(orders.values());
+    }
+
+    public boolean forEachOrder(Stream<OrderLineProjection> lines, Predicate<OrderResponseDto> action) {
+        Iterator<OrderLineProjection> iterator = lines.iterator();
+        OrderResponseDto current = null;
+
+        while (iterator.hasNext()) {
+            OrderLineProjection line = iterator.next();
+            if (current == null || current.getId() != line.orderId()) {
+                if (current != null && !action.test(current)) {
+                    return false;
+                }
+                current = toOrderResponseDto(line);
+            }
+            addOrderItem(current, line);
+        }
+
+        if (current != null) {
+            action.test(current);
+        }
+        return true;
+    }
+
+    private OrderResponseDto toOrderResponseDto(OrderLineProjection line) {
+        return OrderResponseDto.builder()
+                .id(line.orderId())
+                .userId(line.userId())
+                .status(line.status())
+                .creationDate(line.creationDate())
+                .orderItems(new ArrayList<>())
+                .build();
+    }
+
+    private void addOrderItem(OrderResponseDto order, OrderLineProjection line) {
+        if (line.orderItemId() != null) {
+            order.getOrderItems().add(OrderItemResponseDto.builder()
+                    .id(line.orderItemId())
+                    .itemId(line.itemId())
+                    .quantity(line.quantity())
+                    .unitPrice(line.unitPrice())
+                    .name(line.itemName())
+                    .build());
+        }
+    }
+}
@@ -16,6 +16,7 @@ import static org.mapstruct.ReportingPolicy.ERROR;
 public interface OrderMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "statusChangedAt", ignore = true)
     @Mapping(target = "orderItems", ignore = true)
     @Mapping(target = "userId", ignore = true)
     Order toOrder(OrderCreateDto orderCreateDto);
@@ -26,6 +27,7 @@ public interface OrderMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "statusChangedAt", ignore = true)
     @Mapping(target = "orderItems", ignore = true)
     @Mapping(target = "userId", ignore = true)
     void updateOrder(@MappingTarget Order order, OrderUpdateDto orderUpdateDto);
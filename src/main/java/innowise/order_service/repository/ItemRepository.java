@@ -1,14 +1,24 @@
 package innowise.order_service.repository;
 
+import innowise.order_service.config.ItemCacheConfig;
 import innowise.order_service.entity.Item;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = ItemCacheConfig.ITEM_QUERY_REGION)
+    })
     List<Item> findItemsByIdIn(Collection<Long> orderId);
     boolean existsByName(String name);
 }
@@ -2,14 +2,89 @@ package innowise.order_service.repository;
 
 import innowise.order_service.entity.Order;
 import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.projection.OrderLineProjection;
+import innowise.order_service.repository.projection.PaymentWaitingProjection;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findOrdersByIdIn(List<Long> orderIds);
+    String ORDER_LINES_SELECT = "select new innowise.order_service.repository.projection.OrderLineProjection(" +
+            "o.id, o.userId, o.status, o.creationDate, oi.id, oi.quantity, oi.unitPrice, oi.item.id, oi.itemName) " +
+            "from Order o left join o.orderItems oi ";
+
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<Order> findWithItemsById(long id);
+
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findOrdersWithItemsByIdIn(Collection<Long> orderIds);
+
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findOrdersWithItemsByIdInOrderByIdAsc(Collection<Long> orderIds);
+
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findOrdersWithItemsByStatusAndUserId(OrderStatus status, long userId);
+
+    @Query("select o.id from Order o where o.status = :status and o.userId = :userId and o.id > :afterId " +
+            "order by o.id asc")
+    List<Long> findOrderIdsPage(OrderStatus status, long userId, long afterId, Limit limit);
+
+    @Query(ORDER_LINES_SELECT + "where o.id = :orderId order by oi.id")
+    List<OrderLineProjection> findOrderLinesById(long orderId);
+
+    @Query(ORDER_LINES_SELECT + "where o.id in :orderIds order by o.id, oi.id")
+    List<OrderLineProjection> findOrderLinesByIdIn(Collection<Long> orderIds);
+
+    @Query(ORDER_LINES_SELECT + "where o.status = :status and o.userId = :userId order by o.id, oi.id")
+    List<OrderLineProjection> findOrderLinesByStatusAndUserId(OrderStatus status, long userId);
+
+    @EntityGraph(attributePaths = "orderItems")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Order> streamOrdersByStatusAndUserIdOrderByIdAsc(OrderStatus status, long userId);
+
+    @Query(ORDER_LINES_SELECT + "where o.status = :status and o.userId = :userId order by o.id, oi.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    Stream<OrderLineProjection> streamOrderLinesByStatusAndUserId(OrderStatus status, long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :status, o.statusChangedAt = :changedAt where o.id in :orderIds " +
+            "and o.status = innowise.order_service.entity.OrderStatus.PAYMENT_WAITING")
+    int updatePaymentWaitingStatusByIdIn(OrderStatus status, Collection<Long> orderIds, LocalDateTime changedAt);
+
+    @Query("select new innowise.order_service.repository.projection.PaymentWaitingProjection(o.id, o.statusChangedAt) " +
+            "from Order o where o.id in :orderIds and o.status = innowise.order_service.entity.OrderStatus.PAYMENT_WAITING")
+    List<PaymentWaitingProjection> findPaymentWaitingByIdIn(Collection<Long> orderIds);
+
+    @Query(value = "select count(*) from orders where status = 'PAYMENT_WAITING'", nativeQuery = true)
+    long countPaymentWaiting();
+
+    @Query(value = "select min(status_changed_at) from orders where status = 'PAYMENT_WAITING'", nativeQuery = true)
+    Optional<LocalDateTime> findOldestPaymentWaitingSince();
+
+    @Query(value = "select pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAdvisoryTransactionLock(long lockKey);
 
-    List<Order> findOrdersByStatusAndUserId(OrderStatus status, long userId);
+    @Modifying
+    @Query(value = "update orders set status = 'PAYMENT_FAILED', status_changed_at = :changedAt where id in (" +
+            "select id from orders where status = 'PAYMENT_WAITING' and status_changed_at < :waitingBefore " +
+            "order by status_changed_at limit :limit for update skip locked)", nativeQuery = true)
+    int failPaymentWaitingBefore(LocalDateTime waitingBefore, LocalDateTime changedAt, int limit);
 }
@@ -0,0 +1,15 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.entity.PaymentDeadLetter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentDeadLetterRepository extends JpaRepository<PaymentDeadLetter, Long> {
+    List<PaymentDeadLetter> findByReplayedAtIsNullOrderByIdAsc(Limit limit);
+
+    long countByReplayedAtIsNull();
+}
@@ -0,0 +1,32 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.entity.PaymentOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEvent, Long> {
+    @Query(value = "select * from payment_outbox where sent_at is null order by id limit :limit " +
+            "for update skip locked", nativeQuery = true)
+    List<PaymentOutboxEvent> lockPendingEvents(int limit);
+
+    @Modifying
+    @Query("update PaymentOutboxEvent e set e.sentAt = :sentAt where e.id in :ids")
+    int markSent(Collection<Long> ids, LocalDateTime sentAt);
+
+    @Modifying
+    @Query("delete from PaymentOutboxEvent e where e.sentAt < :sentBefore")
+    int deleteSentBefore(LocalDateTime sentBefore);
+
+    long countBySentAtIsNull();
+
+    @Query("select min(e.createdAt) from PaymentOutboxEvent e where e.sentAt is null")
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+}
@@ -0,0 +1,27 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.entity.ProcessedPaymentEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProcessedPaymentEventRepository extends JpaRepository<ProcessedPaymentEvent, String> {
+    @Modifying
+    @Query(value = "insert into processed_payment_events (event_id, processed_at) values (:eventId, :processedAt) " +
+            "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(String eventId, LocalDateTime processedAt);
+
+    @Query(value = "insert into processed_payment_events (event_id, processed_at) " +
+            "select event_id, :processedAt from unnest(cast(:eventIds as varchar[])) as event_id " +
+            "on conflict do nothing returning event_id", nativeQuery = true)
+    List<String> insertAbsent(String[] eventIds, LocalDateTime processedAt);
+
+    @Modifying
+    @Query("delete from ProcessedPaymentEvent e where e.processedAt < :processedBefore")
+    int deleteProcessedBefore(LocalDateTime processedBefore);
+}
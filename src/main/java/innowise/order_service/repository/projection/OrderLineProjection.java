@@ -0,0 +1,19 @@
+package innowise.order_service.repository.projection;
+
+import innowise.order_service.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderLineProjection(
+        long orderId,
+        long userId,
+        OrderStatus status,
+        LocalDateTime creationDate,
+        Long orderItemId,
+        Integer quantity,
+        BigDecimal unitPrice,
+        Long itemId,
+        String itemName
+) {
+}
@@ -0,0 +1,9 @@
+package innowise.order_service.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record PaymentWaitingProjection(
+        long orderId,
+        LocalDateTime waitingSince
+) {
+}
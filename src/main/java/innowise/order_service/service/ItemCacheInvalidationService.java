@@ -0,0 +1,87 @@
+package innowise.order_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import innowise.order_service.config.ItemCacheConfig;
+import innowise.order_service.config.ItemCacheProperties;
+import innowise.order_service.entity.Item;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class ItemCacheInvalidationService {
+    private final EntityManagerFactory entityManagerFactory;
+    private final Cache<Long, Long> latestVersions;
+    private final Counter evictions;
+    private final Counter staleEvents;
+    private final Counter staleLoads;
+
+    public ItemCacheInvalidationService(EntityManagerFactory entityManagerFactory,
+                                        ItemCacheProperties itemCacheProperties,
+                                        MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.latestVersions = Caffeine.newBuilder()
+                .maximumSize(itemCacheProperties.getMaximumSize())
+                .build();
+        this.evictions = Counter.builder("item.cache.invalidations")
+                .description("Item change events received from other instances")
+                .tag("result", "evicted")
+                .register(meterRegistry);
+        this.staleEvents = Counter.builder("item.cache.invalidations")
+                .description("Item change events received from other instances")
+                .tag("result", "stale")
+                .register(meterRegistry);
+        this.staleLoads = Counter.builder("item.cache.stale.loads")
+                .description("Item loads older than the latest version announced by item change events")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void registerStaleLoadListener() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) this::onPostLoad);
+    }
+
+    public boolean isStale(Item item) {
+        Long latestVersion = latestVersions.getIfPresent(item.getId());
+        return latestVersion != null && latestVersion > item.getVersion();
+    }
+
+    public boolean evict(long itemId, long version) {
+        long latestVersion = latestVersions.asMap().merge(itemId, version, Math::max);
+        if (latestVersion > version) {
+            log.info("Ignoring change event for item {} version {}, version {} was already seen",
+                    itemId, version, latestVersion);
+            staleEvents.increment();
+            return false;
+        }
+
+        entityManagerFactory.getCache().evict(Item.class, itemId);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(ItemCacheConfig.ITEM_QUERY_REGION);
+        evictions.increment();
+        log.info("Item {} version {} evicted from cache", itemId, version);
+        return true;
+    }
+
+    private void onPostLoad(PostLoadEvent event) {
+        if (event.getEntity() instanceof Item item && isStale(item)) {
+            entityManagerFactory.getCache().evict(Item.class, item.getId());
+            staleLoads.increment();
+            log.info("Item {} version {} loaded while version {} is known, evicted from cache", item.getId(),
+                    item.getVersion(), latestVersions.getIfPresent(item.getId()));
+        }
+    }
+}
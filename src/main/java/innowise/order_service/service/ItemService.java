@@ -1,5 +1,6 @@
 package innowise.order_service.service;
 
+import innowise.order_service.dto.item.ItemChangedEventDto;
 import innowise.order_service.dto.item.ItemRequestDto;
 import innowise.order_service.dto.item.ItemResponseDto;
 import innowise.order_service.entity.Item;
@@ -9,6 +10,7 @@ import innowise.order_service.mapper.ItemMapper;
 import innowise.order_service.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ItemService {
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Transactional
     public ItemResponseDto createItem(ItemRequestDto itemRequestDto) {
@@ -31,6 +34,7 @@ public class ItemService {
         return itemMapper.toItemResponseDto(item);
     }
 
+    @Transactional(readOnly = true)
     public ItemResponseDto getItemById(Long id) {
         Item item = loadItemFromDatabase(id);
 
@@ -46,6 +50,8 @@ public class ItemService {
         }
 
         itemMapper.updateItem(item, itemRequestDto);
+        itemRepository.flush();
+        publishItemChanged(ItemChangedEventDto.ITEM_UPDATED, item.getId(), item.getVersion());
 
         log.info("Item {} updated", item.getId());
 
@@ -57,10 +63,19 @@ public class ItemService {
         Item item = loadItemFromDatabase(id);
 
         itemRepository.delete(item);
+        publishItemChanged(ItemChangedEventDto.ITEM_DELETED, item.getId(), item.getVersion() + 1);
 
         log.info("Item {} deleted", item.getId());
     }
 
+    private void publishItemChanged(String eventType, long itemId, long version) {
+        applicationEventPublisher.publishEvent(ItemChangedEventDto.builder()
+                .eventType(eventType)
+                .itemId(itemId)
+                .version(version)
+                .build());
+    }
+
     private Item loadItemFromDatabase(long id) {
         Item item = itemRepository.findById(id).orElseThrow(() -> {
             log.warn("Item with id {} not found", id);
@@ -0,0 +1,172 @@
+package innowise.order_service.service;
+
+import innowise.order_service.config.OrderBulkProperties;
+import innowise.order_service.dto.order.OrderBulkCreateDto;
+import innowise.order_service.dto.order.OrderBulkResponseDto;
+import innowise.order_service.dto.order.OrderBulkResultDto;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.dto.user.UserResponseDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.mapper.OrderMapper;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class OrderBulkService {
+    private final OrderRepository orderRepository;
+    private final ItemRepository itemRepository;
+    private final OrderMapper orderMapper;
+    private final UserCacheService userCacheService;
+    private final OrderBulkProperties orderBulkProperties;
+    private final ItemCacheInvalidationService itemCacheInvalidationService;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderBulkService(OrderRepository orderRepository,
+                            ItemRepository itemRepository,
+                            OrderMapper orderMapper,
+                            UserCacheService userCacheService,
+                            OrderBulkProperties orderBulkProperties,
+                            ItemCacheInvalidationService itemCacheInvalidationService,
+                            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.itemRepository = itemRepository;
+        this.orderMapper = orderMapper;
+        this.userCacheService = userCacheService;
+        this.orderBulkProperties = orderBulkProperties;
+        this.itemCacheInvalidationService = itemCacheInvalidationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public OrderBulkResponseDto addOrders(OrderBulkCreateDto orderBulkCreateDto, Long userId) {
+        List<OrderCreateDto> orderCreateDtos = orderBulkCreateDto.getOrders();
+        OrderBulkResultDto[] results = new OrderBulkResultDto[orderCreateDtos.size()];
+        UserResponseDto user = userCacheService.getUserById(userId);
+
+        Set<Long> itemIds = orderCreateDtos.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .map(OrderItemRequestDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findItemsByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        reloadStaleItems(items);
+        log.info("Loaded {} of {} items for {} bulk orders of user {}", items.size(), itemIds.size(),
+                orderCreateDtos.size(), userId);
+
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        LocalDateTime creationDate = LocalDateTime.now();
+        for (int i = 0; i < orderCreateDtos.size(); i++) {
+            OrderCreateDto orderCreateDto = orderCreateDtos.get(i);
+            List<Long> missingItemIds = orderCreateDto.getOrderItems().stream()
+                    .map(OrderItemRequestDto::getItemId)
+                    .filter(itemId -> !items.containsKey(itemId))
+                    .distinct()
+                    .toList();
+            if (!missingItemIds.isEmpty()) {
+                results[i] = failure(i, "Items with ids " + missingItemIds + " were not found");
+                continue;
+            }
+            orders.put(i, toOrder(orderCreateDto, userId, items, creationDate));
+        }
+
+        List<Integer> indexes = new ArrayList<>(orders.keySet());
+        for (int from = 0; from < indexes.size(); from += orderBulkProperties.getChunkSize()) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + orderBulkProperties.getChunkSize(),
+                    indexes.size()));
+            saveChunk(chunk, orders, user, results);
+        }
+
+        int created = (int) Arrays.stream(results).filter(result -> result.getError() == null).count();
+        log.info("{} of {} bulk orders created for user {}", created, results.length, userId);
+        return OrderBulkResponseDto.builder()
+                .created(created)
+                .failed(results.length - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private void reloadStaleItems(Map<Long, Item> items) {
+        List<Long> staleItemIds = items.values().stream()
+                .filter(itemCacheInvalidationService::isStale)
+                .map(Item::getId)
+                .toList();
+        if (staleItemIds.isEmpty()) {
+            return;
+        }
+
+        staleItemIds.forEach(items::remove);
+        transactionTemplate.execute(status -> itemRepository.findAllById(staleItemIds))
+                .forEach(item -> items.put(item.getId(), item));
+        log.info("Reloaded stale items {} from primary", staleItemIds);
+    }
+
+    private void saveChunk(List<Integer> chunk, Map<Integer, Order> orders, UserResponseDto user,
+                           OrderBulkResultDto[] results) {
+        List<Order> chunkOrders = chunk.stream().map(orders::get).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderRepository.saveAll(chunkOrders));
+        } catch (RuntimeException e) {
+            log.warn("Failed to save chunk of {} bulk orders", chunk.size(), e);
+            chunk.forEach(index -> results[index] = failure(index, "Order was not saved: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            return;
+        }
+
+        for (int index : chunk) {
+            results[index] = OrderBulkResultDto.builder()
+                    .index(index)
+                    .order(orderMapper.toOrderResponseDto(orders.get(index), user))
+                    .build();
+        }
+    }
+
+    private Order toOrder(OrderCreateDto orderCreateDto, Long userId, Map<Long, Item> items,
+                          LocalDateTime creationDate) {
+        Order order = orderMapper.toOrder(orderCreateDto);
+        order.setUserId(userId);
+        order.setCreationDate(creationDate);
+        order.setStatusChangedAt(creationDate);
+        order.setOrderItems(new ArrayList<>());
+
+        Map<Long, Integer> itemIdTotalQuantityMap = orderCreateDto.getOrderItems().stream()
+                .collect(Collectors.toMap(
+                        OrderItemRequestDto::getItemId,
+                        OrderItemRequestDto::getQuantity,
+                        Integer::sum,
+                        LinkedHashMap::new
+                ));
+        itemIdTotalQuantityMap.forEach((itemId, quantity) -> order.getOrderItems().add(OrderItem.builder()
+                .quantity(quantity)
+                .unitPrice(items.get(itemId).getPrice())
+                .itemName(items.get(itemId).getName())
+                .item(items.get(itemId))
+                .order(order)
+                .build()));
+        return order;
+    }
+
+    private static OrderBulkResultDto failure(int index, String error) {
+        return OrderBulkResultDto.builder()
+                .index(index)
+                .error(error)
+                .build();
+    }
+}
@@ -1,5 +1,8 @@
 package innowise.order_service.service;
 
+import innowise.order_service.config.OrderReadProperties;
+import innowise.order_service.config.PaymentOutboxProperties;
+import innowise.order_service.dto.order.OrderPageDto;
 import innowise.order_service.dto.order.OrderUpdateDto;
 import innowise.order_service.dto.order.OrderResponseDto;
 import innowise.order_service.dto.order.OrderCreateDto;
@@ -15,134 +18,250 @@ import innowise.order_service.exception.order.IllegalStatusChangeException;
 import innowise.order_service.exception.order.OrderNotFoundException;
 import innowise.order_service.exception.security.OrderAccessDeniedException;
 import innowise.order_service.mapper.OrderItemsMapper;
+import innowise.order_service.mapper.OrderLineProjectionMapper;
 import innowise.order_service.mapper.OrderMapper;
 import innowise.order_service.repository.ItemRepository;
 import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.projection.OrderLineProjection;
 import innowise.order_service.service.kafka.KafkaProducerService;
-import lombok.RequiredArgsConstructor;
+import innowise.order_service.service.outbox.PaymentOutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @ToString
 public class OrderService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
     private final OrderMapper orderMapper;
     private final OrderItemsMapper orderItemsMapper;
-    private final UserServiceClient userServiceClient;
+    private final UserCacheService userCacheService;
+    private final UserEnrichmentService userEnrichmentService;
+    private final EntityManager entityManager;
+    private final OrderLineProjectionMapper orderLineProjectionMapper;
+    private final OrderReadProperties orderReadProperties;
+    private final ItemCacheInvalidationService itemCacheInvalidationService;
     private final KafkaProducerService kafkaProducerService;
+    private final PaymentOutboxService paymentOutboxService;
+    private final PaymentOutboxProperties paymentOutboxProperties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public OrderService(OrderRepository orderRepository,
+                        ItemRepository itemRepository,
+                        OrderMapper orderMapper,
+                        OrderItemsMapper orderItemsMapper,
+                        UserCacheService userCacheService,
+                        UserEnrichmentService userEnrichmentService,
+                        EntityManager entityManager,
+                        OrderLineProjectionMapper orderLineProjectionMapper,
+                        OrderReadProperties orderReadProperties,
+                        ItemCacheInvalidationService itemCacheInvalidationService,
+                        KafkaProducerService kafkaProducerService,
+                        PaymentOutboxService paymentOutboxService,
+                        PaymentOutboxProperties paymentOutboxProperties,
+                        MeterRegistry meterRegistry,
+                        PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.itemRepository = itemRepository;
+        this.orderMapper = orderMapper;
+        this.orderItemsMapper = orderItemsMapper;
+        this.userCacheService = userCacheService;
+        this.userEnrichmentService = userEnrichmentService;
+        this.entityManager = entityManager;
+        this.orderLineProjectionMapper = orderLineProjectionMapper;
+        this.orderReadProperties = orderReadProperties;
+        this.itemCacheInvalidationService = itemCacheInvalidationService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.paymentOutboxService = paymentOutboxService;
+        this.paymentOutboxProperties = paymentOutboxProperties;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
-    @Transactional
     public OrderResponseDto addOrder(OrderCreateDto orderCreateDto, Long userId) {
-        Order order = orderMapper.toOrder(orderCreateDto);
-        order.setUserId(userId);
-        setOrderItems(order, orderCreateDto.getOrderItems());
-        order.setCreationDate(LocalDateTime.now());
-
-        order = orderRepository.save(order);
+        Order order = transactionTemplate.execute(status -> {
+            Order newOrder = orderMapper.toOrder(orderCreateDto);
+            newOrder.setUserId(userId);
+            setOrderItems(newOrder, orderCreateDto.getOrderItems());
+            newOrder.setCreationDate(LocalDateTime.now());
+            newOrder.setStatusChangedAt(newOrder.getCreationDate());
+            return orderRepository.save(newOrder);
+        });
         log.info("Order {} created", order.getId());
 
-        return orderMapper.toOrderResponseDto(order, userServiceClient.getUserById(userId));
+        return orderMapper.toOrderResponseDto(order, userCacheService.getUserById(userId));
     }
 
     public OrderResponseDto getOrderById(Long orderId, Long userId) {
-        Order order = orderRepository.findById(orderId).orElseThrow(() -> {
-            log.warn("Order {} not found in database", orderId);
-            return new OrderNotFoundException("Order with id " + orderId + " was not found");
-        });
+        Supplier<UserResponseDto> user = userEnrichmentService.prefetchUser(userId);
+        OrderResponseDto order = readOnlyTransactionTemplate.execute(status -> (orderReadProperties.isProjection()
+                ? orderLineProjectionMapper.toOrderResponseDtos(orderRepository.findOrderLinesById(orderId)).stream()
+                .findFirst()
+                : orderRepository.findWithItemsById(orderId).map(this::toOrderResponseDto))
+                .orElseThrow(() -> {
+                    log.warn("Order {} not found in database", orderId);
+                    return new OrderNotFoundException("Order with id " + orderId + " was not found");
+                }));
 
         log.info("Order {} loaded", orderId);
-        validateOrderOwner(order, userId);
+        validateOrderOwner(order.getUserId(), orderId, userId);
 
-        return orderMapper.toOrderResponseDto(order, userServiceClient.getUserById(userId));
+        order.setUser(user.get());
+        return order;
     }
 
     public List<OrderResponseDto> getOrdersByIds(List<Long> ids, Long userId) {
-        List<Order> orders = orderRepository.findOrdersByIdIn(ids);
+        Supplier<UserResponseDto> user = userEnrichmentService.prefetchUser(userId);
+        List<OrderResponseDto> orders = readOnlyTransactionTemplate.execute(status -> orderReadProperties.isProjection()
+                ? orderLineProjectionMapper.toOrderResponseDtos(orderRepository.findOrderLinesByIdIn(ids))
+                : toOrderResponseDtos(orderRepository.findOrdersWithItemsByIdIn(ids)));
 
-        if (orders == null || orders.isEmpty()) {
+        if (orders.isEmpty()) {
             log.warn("Orders not found in database");
             throw new OrderNotFoundException("None of the orders with ids " + ids + " were found");
         }
 
         log.info("{} Orders loaded from database", orders.size());
-        for (Order order : orders) {
-            validateOrderOwner(order, userId);
+        for (OrderResponseDto order : orders) {
+            validateOrderOwner(order.getUserId(), order.getId(), userId);
         }
 
-        UserResponseDto userResponseDto = userServiceClient.getUserById(userId);
-        return orders.stream()
-                .map(order -> orderMapper.toOrderResponseDto(order, userResponseDto))
-                .toList();
+        return withUser(orders, user.get());
     }
 
     public List<OrderResponseDto> getOrdersByStatus(String status, Long userId) {
-        OrderStatus orderStatus;
-        try {
-            orderStatus = OrderStatus.valueOf(status.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalOrderStatusException("Illegal order status " + status +
-                    ".\n Valid values are: " + Arrays.toString(OrderStatus.values()));
-        }
+        OrderStatus orderStatus = parseOrderStatus(status);
 
-        List<Order> orders = orderRepository.findOrdersByStatusAndUserId(orderStatus, userId);
+        Supplier<UserResponseDto> user = userEnrichmentService.prefetchUser(userId);
+        List<OrderResponseDto> orders = readOnlyTransactionTemplate.execute(transactionStatus ->
+                orderReadProperties.isProjection()
+                        ? orderLineProjectionMapper.toOrderResponseDtos(
+                        orderRepository.findOrderLinesByStatusAndUserId(orderStatus, userId))
+                        : toOrderResponseDtos(orderRepository.findOrdersWithItemsByStatusAndUserId(orderStatus, userId)));
 
-        if (orders == null || orders.isEmpty()) {
+        if (orders.isEmpty()) {
             log.warn("Orders with status {} were not found in database", status);
             throw new OrderNotFoundException("None of the orders with status " + status + " were found");
         }
 
         log.info("{} Orders with {} status loaded from database", orders.size(), status);
 
-        UserResponseDto userResponseDto = userServiceClient.getUserById(userId);
-        return orders.stream()
-                .map(order -> orderMapper.toOrderResponseDto(order, userResponseDto))
-                .toList();
+        return withUser(orders, user.get());
     }
 
-    @Transactional
-    public OrderResponseDto updateOrder(long orderId, OrderUpdateDto orderUpdateDto, Long userId) {
-        Order order = orderRepository.findById(orderId).orElseThrow(() -> {
-            log.warn("Order with {} id was not found in database", orderId);
-            return new OrderNotFoundException("Order with id " + orderId + " was not found");
+    public OrderPageDto getOrdersPageByStatus(String status, Long userId, long afterId, int size) {
+        OrderStatus orderStatus = parseOrderStatus(status);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        Supplier<UserResponseDto> user = userEnrichmentService.prefetchUser(userId);
+        List<Long> orderIds = new ArrayList<>();
+        List<OrderResponseDto> orders = readOnlyTransactionTemplate.execute(transactionStatus -> {
+            orderIds.addAll(orderRepository.findOrderIdsPage(orderStatus, userId, afterId, Limit.of(pageSize)));
+            if (orderIds.isEmpty()) {
+                return List.of();
+            }
+            return orderReadProperties.isProjection()
+                    ? orderLineProjectionMapper.toOrderResponseDtos(orderRepository.findOrderLinesByIdIn(orderIds))
+                    : toOrderResponseDtos(orderRepository.findOrdersWithItemsByIdInOrderByIdAsc(orderIds));
         });
 
-        log.info("Order {} loaded from database", orderId);
-        validateOrderOwner(order, userId);
+        log.info("{} Orders with {} status after {} loaded from database", orders.size(), status, afterId);
 
-        if (!isStatusChangeAllowed(order.getStatus(), orderUpdateDto.getStatus())) {
-            log.warn("Forbidden status change from {} to {}", order.getStatus(), orderUpdateDto.getStatus());
-            throw new IllegalStatusChangeException("You are not allowed to change status from "
-                    + order.getStatus() + " to " + orderUpdateDto.getStatus());
-        }
+        return OrderPageDto.builder()
+                .orders(withUser(orders, user.get()))
+                .nextCursor(orderIds.size() == pageSize ? orderIds.getLast() : null)
+                .build();
+    }
 
-        orderMapper.updateOrder(order, orderUpdateDto);
-        if (orderUpdateDto.getOrderItems() != null && !orderUpdateDto.getOrderItems().isEmpty()) {
-            if (order.getStatus() == OrderStatus.NEW || order.getStatus() == OrderStatus.PAYMENT_FAILED) {
-                setOrderItems(order, orderUpdateDto.getOrderItems());
-            } else {
-                log.warn("Forbidden order items change for {} status", order.getStatus());
-                throw new IllegalStatusChangeException("You are only allowed to update status of NEW order");
+    public void streamOrdersByStatus(OrderStatus orderStatus, Long userId, Consumer<OrderResponseDto> consumer) {
+        UserResponseDto user = userEnrichmentService.prefetchUser(userId).get();
+        int maxOrders = orderReadProperties.getStreamMaxOrders();
+        long deadline = System.nanoTime() + orderReadProperties.getStreamTimeout().toNanos();
+        AtomicInteger streamed = new AtomicInteger();
+        Predicate<OrderResponseDto> emit = order -> {
+            order.setUser(user);
+            consumer.accept(order);
+            return streamed.incrementAndGet() < maxOrders && System.nanoTime() < deadline;
+        };
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean completed = Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(transactionStatus -> {
+            if (orderReadProperties.isProjection()) {
+                try (Stream<OrderLineProjection> lines =
+                             orderRepository.streamOrderLinesByStatusAndUserId(orderStatus, userId)) {
+                    return orderLineProjectionMapper.forEachOrder(lines, emit);
+                }
             }
+            try (Stream<Order> orders =
+                         orderRepository.streamOrdersByStatusAndUserIdOrderByIdAsc(orderStatus, userId)) {
+                Iterator<Order> iterator = orders.iterator();
+                while (iterator.hasNext()) {
+                    Order order = iterator.next();
+                    OrderResponseDto orderResponseDto = orderMapper.toOrderResponseDto(order, user);
+                    entityManager.detach(order);
+                    if (!emit.test(orderResponseDto) && iterator.hasNext()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }));
+        sample.stop(Timer.builder("orders.stream")
+                .description("Time an order stream held its database connection")
+                .tag("result", completed ? "completed" : "truncated")
+                .register(meterRegistry));
+
+        if (completed) {
+            log.info("{} Orders with {} status streamed for user {}", streamed.get(), orderStatus, userId);
+        } else {
+            log.warn("Stream of orders with {} status for user {} truncated after {} orders", orderStatus, userId,
+                    streamed.get());
         }
+    }
 
-        order = orderRepository.save(order);
+    public OrderStatus parseOrderStatus(String status) {
+        try {
+            return OrderStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOrderStatusException("Illegal order status " + status +
+                    ".\n Valid values are: " + Arrays.toString(OrderStatus.values()));
+        }
+    }
+
+    public OrderResponseDto updateOrder(long orderId, OrderUpdateDto orderUpdateDto, Long userId) {
+        Order order = transactionTemplate.execute(status -> saveOrderUpdate(orderId, orderUpdateDto, userId));
         log.info("Order {} updated", order.getId());
-        OrderResponseDto orderResponseDto = orderMapper.toOrderResponseDto(order, userServiceClient.getUserById(userId));
+        OrderResponseDto orderResponseDto = orderMapper.toOrderResponseDto(order, userCacheService.getUserById(userId));
 
-        if (order.getStatus() == OrderStatus.PAYMENT_WAITING) {
+        if (order.getStatus() == OrderStatus.PAYMENT_WAITING && !paymentOutboxProperties.isEnabled()) {
             kafkaProducerService.sendCreatePaymentEvent(order);
         }
 
@@ -150,18 +269,37 @@ public class OrderService {
     }
 
     @Transactional
-    public void updateOrderStatus(long orderId, OrderStatus orderStatus) {
-        Order order = orderRepository.findById(orderId).orElseThrow(() -> {
-            log.warn("Order {} was not found in database", orderId);
-            return new OrderNotFoundException("Order with id " + orderId + " was not found");
-        });
-
-        log.info("Order {} loaded from database", orderId);
+    public boolean applyPaymentStatus(long orderId, OrderStatus orderStatus) {
+        int updated = orderRepository.updatePaymentWaitingStatusByIdIn(orderStatus, List.of(orderId),
+                LocalDateTime.now());
+        if (updated > 0) {
+            log.info("Order {} updated to {} status", orderId, orderStatus);
+            return true;
+        }
 
-        order.setStatus(orderStatus);
+        if (!orderRepository.existsById(orderId)) {
+            log.warn("Order {} was not found in database", orderId);
+            throw new OrderNotFoundException("Order with id " + orderId + " was not found");
+        }
+        log.warn("Order {} no longer waits for payment, {} status is not applied", orderId, orderStatus);
+        return false;
+    }
 
-        order = orderRepository.save(order);
-        log.info("Order {} updated to {} status", orderId, order.getStatus());
+    @Transactional
+    public void applyPaymentStatuses(Map<Long, OrderStatus> orderStatuses) {
+        Map<OrderStatus, List<Long>> orderIdsByStatus = orderStatuses.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        orderIdsByStatus.forEach((orderStatus, orderIds) -> {
+            int updated = orderRepository.updatePaymentWaitingStatusByIdIn(orderStatus, orderIds, changedAt);
+            log.info("{} of {} orders updated to {} status", updated, orderIds.size(), orderStatus);
+            if (updated < orderIds.size()) {
+                log.warn("Some orders were not found or no longer wait for payment while updating to {} status",
+                        orderStatus);
+            }
+        });
     }
 
     @Transactional
@@ -176,6 +314,42 @@ public class OrderService {
         log.info("Order {} deleted", orderId);
     }
 
+    private Order saveOrderUpdate(long orderId, OrderUpdateDto orderUpdateDto, Long userId) {
+        Order order = orderRepository.findWithItemsById(orderId).orElseThrow(() -> {
+            log.warn("Order with {} id was not found in database", orderId);
+            return new OrderNotFoundException("Order with id " + orderId + " was not found");
+        });
+
+        log.info("Order {} loaded from database", orderId);
+        validateOrderOwner(order, userId);
+
+        if (!isStatusChangeAllowed(order.getStatus(), orderUpdateDto.getStatus())) {
+            log.warn("Forbidden status change from {} to {}", order.getStatus(), orderUpdateDto.getStatus());
+            throw new IllegalStatusChangeException("You are not allowed to change status from "
+                    + order.getStatus() + " to " + orderUpdateDto.getStatus());
+        }
+
+        OrderStatus previousStatus = order.getStatus();
+        orderMapper.updateOrder(order, orderUpdateDto);
+        if (order.getStatus() != previousStatus) {
+            order.setStatusChangedAt(LocalDateTime.now());
+        }
+        if (orderUpdateDto.getOrderItems() != null && !orderUpdateDto.getOrderItems().isEmpty()) {
+            if (order.getStatus() == OrderStatus.NEW || order.getStatus() == OrderStatus.PAYMENT_FAILED) {
+                setOrderItems(order, orderUpdateDto.getOrderItems());
+            } else {
+                log.warn("Forbidden order items change for {} status", order.getStatus());
+                throw new IllegalStatusChangeException("You are only allowed to update status of NEW order");
+            }
+        }
+
+        order = orderRepository.save(order);
+        if (order.getStatus() == OrderStatus.PAYMENT_WAITING && paymentOutboxProperties.isEnabled()) {
+            paymentOutboxService.enqueueCreatePaymentEvent(order);
+        }
+        return order;
+    }
+
     private boolean isStatusChangeAllowed(OrderStatus oldStatus, OrderStatus newStatus) {
         if (oldStatus == newStatus) {
             return true;
@@ -190,12 +364,31 @@ public class OrderService {
     }
 
     private void validateOrderOwner(Order order, Long userId) throws OrderAccessDeniedException {
-        if (order.getUserId() != userId) {
-            log.warn("User {} can not see the order {}", userId, order.getId());
+        validateOrderOwner(order.getUserId(), order.getId(), userId);
+    }
+
+    private void validateOrderOwner(long ownerId, long orderId, Long userId) throws OrderAccessDeniedException {
+        if (ownerId != userId) {
+            log.warn("User {} can not see the order {}", userId, orderId);
             throw new OrderAccessDeniedException("You are only allowed to access your own orders");
         }
     }
 
+    private OrderResponseDto toOrderResponseDto(Order order) {
+        return orderMapper.toOrderResponseDto(order, null);
+    }
+
+    private List<OrderResponseDto> toOrderResponseDtos(List<Order> orders) {
+        return orders.stream()
+                .map(this::toOrderResponseDto)
+                .toList();
+    }
+
+    private List<OrderResponseDto> withUser(List<OrderResponseDto> orders, UserResponseDto user) {
+        orders.forEach(order -> order.setUser(user));
+        return orders;
+    }
+
     private void setOrderItems(Order order, List<OrderItemRequestDto> orderItemDtos) {
         Map<Long, Integer> itemIdTotalQuantityMap = orderItemDtos.stream()
                 .collect(Collectors.toMap(
@@ -205,6 +398,9 @@ public class OrderService {
                 ));
 
         List<Item> items = itemRepository.findItemsByIdIn(itemIdTotalQuantityMap.keySet());
+        items.stream()
+                .filter(itemCacheInvalidationService::isStale)
+                .forEach(entityManager::refresh);
 
         log.info("Loaded items with ids {}", itemIdTotalQuantityMap);
 
@@ -224,6 +420,8 @@ public class OrderService {
         for (Item item : items) {
             OrderItem orderItem = OrderItem.builder()
                     .quantity(itemIdTotalQuantityMap.get(item.getId()))
+                    .unitPrice(item.getPrice())
+                    .itemName(item.getName())
                     .item(item)
                     .order(order)
                     .build();
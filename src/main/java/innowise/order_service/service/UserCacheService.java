@@ -0,0 +1,87 @@
+package innowise.order_service.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import innowise.order_service.config.UserServiceProperties;
+import innowise.order_service.dto.user.UserResponseDto;
+import innowise.order_service.exception.microservices.UserServiceCommunicationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+@Service
+@Slf4j
+public class UserCacheService {
+    public static final String CACHE_NAME = "users";
+
+    private final UserRequestCoalescer userRequestCoalescer;
+    private final UserServiceProperties.Cache cacheProperties;
+    private final AsyncLoadingCache<Long, UserResponseDto> cache;
+
+    public UserCacheService(UserRequestCoalescer userRequestCoalescer,
+                            UserServiceProperties userServiceProperties,
+                            MeterRegistry meterRegistry,
+                            ExecutorService userEnrichmentExecutor) {
+        this.userRequestCoalescer = userRequestCoalescer;
+        this.cacheProperties = userServiceProperties.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getExpireAfterWrite())
+                .refreshAfterWrite(cacheProperties.getRefreshAfterWrite())
+                .executor(userEnrichmentExecutor)
+                .recordStats()
+                .buildAsync(this::loadUser);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserResponseDto getUserById(Long userId) {
+        if (!cacheProperties.isEnabled()) {
+            return userRequestCoalescer.getUserById(userId);
+        }
+
+        CompletableFuture<UserResponseDto> user = cache.get(userId);
+        try {
+            return user.join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof UserServiceCommunicationException)) {
+                throw e;
+            }
+            cache.asMap().remove(userId, user);
+            log.warn("User {} is not cached and user-service is unavailable", userId);
+            return UserServiceClient.unavailableUser(userId);
+        }
+    }
+
+    public void evict(Long userId) {
+        cache.synchronous().invalidate(userId);
+        log.info("User {} evicted from cache", userId);
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+        log.info("User cache cleared");
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private UserResponseDto loadUser(Long userId) {
+        UserResponseDto user = userRequestCoalescer.getUserById(userId);
+
+        if (UserServiceClient.unavailableUser(userId).equals(user)) {
+            throw new UserServiceCommunicationException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "User service did not return user " + userId);
+        }
+
+        log.info("User {} cached", userId);
+        return user;
+    }
+}
@@ -0,0 +1,50 @@
+package innowise.order_service.service;
+
+import innowise.order_service.config.UserServiceProperties;
+import innowise.order_service.dto.user.UserResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserEnrichmentService {
+    private final UserCacheService userCacheService;
+    private final UserServiceProperties userServiceProperties;
+    private final ExecutorService userEnrichmentExecutor;
+
+    public Supplier<UserResponseDto> prefetchUser(Long userId) {
+        UserServiceProperties.Enrichment enrichment = userServiceProperties.getEnrichment();
+        if (!enrichment.isAsync()) {
+            return () -> userCacheService.getUserById(userId);
+        }
+
+        long deadline = System.nanoTime() + enrichment.getTimeout().toNanos();
+        CompletableFuture<UserResponseDto> user =
+                CompletableFuture.supplyAsync(() -> userCacheService.getUserById(userId), userEnrichmentExecutor);
+
+        return () -> awaitUser(user, userId, deadline);
+    }
+
+    private UserResponseDto awaitUser(CompletableFuture<UserResponseDto> user, Long userId, long deadline) {
+        try {
+            return user.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("User {} info was not received in {}, returning order without user",
+                    userId, userServiceProperties.getEnrichment().getTimeout());
+        } catch (ExecutionException e) {
+            log.warn("Error {} receiving user {} info, returning order without user", e.getCause().getMessage(), userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package innowise.order_service.service;
+
+import innowise.order_service.config.UserServiceProperties;
+import innowise.order_service.dto.user.UserResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+@Slf4j
+public class UserRequestCoalescer {
+    private final UserServiceClient userServiceClient;
+    private final UserServiceCircuitBreakerClient circuitBreakerClient;
+    private final UserServiceProperties userServiceProperties;
+    private final ConcurrentMap<Long, CompletableFuture<UserResponseDto>> inFlightRequests = new ConcurrentHashMap<>();
+    private final Counter coalescedRequests;
+
+    public UserRequestCoalescer(UserServiceClient userServiceClient,
+                                UserServiceCircuitBreakerClient circuitBreakerClient,
+                                UserServiceProperties userServiceProperties,
+                                MeterRegistry meterRegistry) {
+        this.userServiceClient = userServiceClient;
+        this.circuitBreakerClient = circuitBreakerClient;
+        this.userServiceProperties = userServiceProperties;
+        this.coalescedRequests = Counter.builder("user.service.requests.coalesced")
+                .description("User lookups served by an already running user-service call")
+                .register(meterRegistry);
+    }
+
+    public UserResponseDto getUserById(Long userId) {
+        CompletableFuture<UserResponseDto> request = new CompletableFuture<>();
+        CompletableFuture<UserResponseDto> runningRequest = inFlightRequests.putIfAbsent(userId, request);
+
+        if (runningRequest != null) {
+            log.info("Joining running user-service call for user {}", userId);
+            coalescedRequests.increment();
+            return await(runningRequest);
+        }
+
+        try {
+            UserResponseDto user = callUserService(userId);
+            request.complete(user);
+            return user;
+        } catch (Throwable e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(userId, request);
+        }
+    }
+
+    private UserResponseDto callUserService(Long userId) {
+        if (userServiceProperties.getCircuitBreaker().isEnabled()) {
+            return circuitBreakerClient.getUserById(userId);
+        }
+        return userServiceClient.getUserById(userId);
+    }
+
+    private UserResponseDto await(CompletableFuture<UserResponseDto> request) {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
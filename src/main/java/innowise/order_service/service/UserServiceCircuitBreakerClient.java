@@ -0,0 +1,53 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.user.UserResponseDto;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class UserServiceCircuitBreakerClient {
+    public static final String CIRCUIT_BREAKER_NAME = "user-service";
+
+    private final UserServiceFeignClient feignClient;
+    private final CircuitBreaker circuitBreaker;
+
+    public UserServiceCircuitBreakerClient(UserServiceFeignClient feignClient,
+                                           CircuitBreakerRegistry circuitBreakerRegistry,
+                                           MeterRegistry meterRegistry) {
+        this.feignClient = feignClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("User service circuit breaker moved from {} to {}",
+                    event.getStateTransition().getFromState(), event.getStateTransition().getToState());
+            meterRegistry.counter("user.service.circuit.transitions",
+                            "from", event.getStateTransition().getFromState().name(),
+                            "to", event.getStateTransition().getToState().name())
+                    .increment();
+        });
+    }
+
+    public UserResponseDto getUserById(Long userId) {
+        try {
+            UserResponseDto user = circuitBreaker.executeSupplier(() -> feignClient.getUserById(userId));
+
+            log.info("User service returned user {} info", user.getId());
+            return user;
+        } catch (CallNotPermittedException e) {
+            log.warn("User service circuit breaker is {}, skipping call for user {}", circuitBreaker.getState(), userId);
+            return UserServiceClient.unavailableUser(userId);
+        } catch (RuntimeException e) {
+            log.warn("Error {} receiving response for user {}", e.getMessage(), userId);
+            return UserServiceClient.unavailableUser(userId);
+        }
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+}
@@ -39,6 +39,10 @@ public class UserServiceClient {
         log.warn("Error {} receiving response for user {}", userId, e.getMessage());
         log.warn("Unable to get response from user service after {} attempts.", MAX_RETRY_ATTEMPTS);
 
+        return unavailableUser(userId);
+    }
+
+    public static UserResponseDto unavailableUser(Long userId) {
         return UserResponseDto.builder()
                 .id(userId)
                 .name("Unable to get user info. Try again later.")
@@ -0,0 +1,29 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.dto.item.ItemChangedEventDto;
+import innowise.order_service.service.ItemCacheInvalidationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "items.cache.invalidation-topic")
+public class ItemEventsConsumerService {
+    private final ItemCacheInvalidationService itemCacheInvalidationService;
+
+    public static final String LISTENER_ID = "item-events";
+
+    @KafkaListener(id = LISTENER_ID, topics = "${items.cache.invalidation-topic}",
+            groupId = "${spring.application.name}-item-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void listenItemChangedEvent(ItemChangedEventDto event) {
+        log.info("Received {} event for item {} version {}",
+                event.getEventType(), event.getItemId(), event.getVersion());
+
+        itemCacheInvalidationService.evict(event.getItemId(), event.getVersion());
+    }
+}
@@ -0,0 +1,36 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.dto.item.ItemChangedEventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "items.cache.invalidation-topic")
+public class ItemEventsProducerService {
+    private final KafkaTemplate<String, ItemChangedEventDto> kafkaTemplate;
+    private final String topic;
+
+    public ItemEventsProducerService(KafkaTemplate<String, ItemChangedEventDto> kafkaTemplate,
+                                     @Value("${items.cache.invalidation-topic}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+    }
+
+    @TransactionalEventListener
+    public void sendItemChangedEvent(ItemChangedEventDto event) {
+        log.info("Sending {} event to {} for item {} version {}",
+                event.getEventType(), topic, event.getItemId(), event.getVersion());
+
+        kafkaTemplate.send(topic, String.valueOf(event.getItemId()), event).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("Failed to send {} event to {} for item {}", event.getEventType(), topic,
+                        event.getItemId(), e);
+            }
+        });
+    }
+}
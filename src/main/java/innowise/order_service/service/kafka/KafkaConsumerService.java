@@ -1,28 +1,31 @@
 package innowise.order_service.service.kafka;
 
 import innowise.order_service.dto.payment.PaymentResponseDto;
-import innowise.order_service.dto.payment.PaymentStatus;
-import innowise.order_service.entity.OrderStatus;
-import innowise.order_service.service.OrderService;
+import innowise.order_service.service.payment.PaymentEventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "payments.consumer.mode", havingValue = "single", matchIfMissing = true)
 public class KafkaConsumerService {
-    private final OrderService orderService;
+    private final PaymentEventService paymentEventService;
+    private final PaymentRetryPublisher paymentRetryPublisher;
 
-    @KafkaListener(topics = "payments", groupId = "order-service-group")
+    @KafkaListener(id = "payments-listener", topics = PaymentRetryPublisher.PAYMENTS_TOPIC,
+            groupId = "order-service-group")
     public void listenPaymentCreatedEvent(PaymentResponseDto payment) {
         log.info("Received {} event from payments topic for {} order. The status is {}",
                 payment.getEventType(), payment.getOrderId(), payment.getStatus());
 
-        orderService.updateOrderStatus(payment.getOrderId(),
-               payment.getStatus() == PaymentStatus.COMPLETED ?
-                                OrderStatus.PAYMENT_RECEIVED :
-                                OrderStatus.PAYMENT_FAILED);
+        try {
+            paymentEventService.process(payment);
+        } catch (RuntimeException e) {
+            paymentRetryPublisher.forward(payment, e);
+        }
     }
 }
\ No newline at end of file
@@ -1,45 +1,127 @@
 package innowise.order_service.service.kafka;
 
+import innowise.order_service.config.PaymentProducerProperties;
 import innowise.order_service.dto.payment.PaymentRequestDto;
 import innowise.order_service.entity.Order;
 import innowise.order_service.entity.OrderItem;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class KafkaProducerService {
     private final KafkaTemplate<String, PaymentRequestDto> kafkaTemplate;
+    private final PaymentProducerProperties paymentProducerProperties;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlightSends;
 
     private static final String TOPIC = "orders";
 
+    public KafkaProducerService(KafkaTemplate<String, PaymentRequestDto> kafkaTemplate,
+                                PaymentProducerProperties paymentProducerProperties,
+                                MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.paymentProducerProperties = paymentProducerProperties;
+        this.meterRegistry = meterRegistry;
+        this.inFlightSends = new Semaphore(paymentProducerProperties.getMaxInFlight());
+        Gauge.builder("kafka.producer.sends.in.flight", inFlightSends,
+                        semaphore -> paymentProducerProperties.getMaxInFlight() - semaphore.availablePermits())
+                .description("Sends waiting for a broker acknowledgement")
+                .tag("topic", TOPIC)
+                .register(meterRegistry);
+    }
+
     public void sendCreatePaymentEvent(Order order) {
-        PaymentRequestDto paymentRequestDto = PaymentRequestDto.builder()
-                .eventType("CREATE_ORDER")
-                .orderId(order.getId())
-                .userId(order.getUserId())
-                .paymentAmount(countTotalOrderAmount(order))
-                .build();
+        PaymentRequestDto paymentRequestDto = toCreatePaymentEvent(order);
 
         log.info("Sending create CREATE_ORDER event to {} for order {}", TOPIC, order.getId());
 
         try {
-            kafkaTemplate.send(TOPIC, paymentRequestDto);
+            CompletableFuture<SendResult<String, PaymentRequestDto>> result = send(paymentRequestDto);
+            if (paymentProducerProperties.isKeyed()) {
+                result.get(paymentProducerProperties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            }
             log.info("Successfully sent CREATE_ORDER event to {} for order {}", TOPIC, order.getId());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while sending CREATE_ORDER event to {} for order {}", TOPIC, order.getId(), ex);
         } catch (Exception ex) {
             log.error("Failed to send CREATE_ORDER event to {} for order {}", TOPIC, order.getId(), ex);
         }
     }
 
+    public CompletableFuture<SendResult<String, PaymentRequestDto>> send(PaymentRequestDto paymentRequestDto) {
+        acquireInFlightPermit();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, PaymentRequestDto>> result;
+        try {
+            result = paymentProducerProperties.isKeyed()
+                    ? kafkaTemplate.send(TOPIC, String.valueOf(paymentRequestDto.getOrderId()), paymentRequestDto)
+                    : kafkaTemplate.send(TOPIC, paymentRequestDto);
+        } catch (RuntimeException e) {
+            inFlightSends.release();
+            sample.stop(sendTimer(e));
+            throw e;
+        }
+
+        return result.whenComplete((sendResult, e) -> {
+            inFlightSends.release();
+            sample.stop(sendTimer(e));
+        });
+    }
+
+    public PaymentRequestDto toCreatePaymentEvent(Order order) {
+        return PaymentRequestDto.builder()
+                .eventType("CREATE_ORDER")
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .paymentAmount(countTotalOrderAmount(order))
+                .build();
+    }
+
+    private void acquireInFlightPermit() {
+        try {
+            if (!inFlightSends.tryAcquire(paymentProducerProperties.getSendTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS)) {
+                throw new KafkaException("Too many in-flight sends to " + TOPIC);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while waiting for an in-flight send slot", e);
+        }
+    }
+
+    private Timer sendTimer(Throwable error) {
+        return Timer.builder("kafka.producer.send")
+                .description("Time from send to broker acknowledgement")
+                .tag("topic", TOPIC)
+                .tag("outcome", error == null ? "success" : "error")
+                .tag("exception", error == null ? "none" : unwrap(error).getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private Throwable unwrap(Throwable error) {
+        return (error instanceof ExecutionException || error instanceof CompletionException)
+                && error.getCause() != null ? error.getCause() : error;
+    }
+
     private BigDecimal countTotalOrderAmount(Order order) {
         BigDecimal totalAmount = BigDecimal.ZERO;
         for (OrderItem orderItem : order.getOrderItems()) {
-            totalAmount = totalAmount.add(orderItem.getItem().getPrice()
+            totalAmount = totalAmount.add(orderItem.getUnitPrice()
                     .multiply(BigDecimal.valueOf(orderItem.getQuantity())));
         }
         return totalAmount;
@@ -0,0 +1,140 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+@Component
+public class PaymentAvroCodec {
+    public static final String CONTENT_TYPE = "application/avro";
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final Schema requestSchema = loadSchema("/avro/payment-request.avsc");
+    private final Schema responseSchema = loadSchema("/avro/payment-response.avsc");
+    private final Schema statusSchema = responseSchema.getField("status").schema().getTypes().get(1);
+    private final GenericData model = new GenericData();
+    private final GenericDatumWriter<GenericRecord> requestWriter;
+    private final GenericDatumReader<GenericRecord> requestReader;
+    private final GenericDatumWriter<GenericRecord> responseWriter;
+    private final GenericDatumReader<GenericRecord> responseReader;
+    private final ThreadLocal<BinaryEncoder> encoders = new ThreadLocal<>();
+    private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+
+    public PaymentAvroCodec() {
+        model.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        model.addLogicalTypeConversion(new TimeConversions.LocalTimestampMicrosConversion());
+        requestWriter = new GenericDatumWriter<>(requestSchema, model);
+        requestReader = new GenericDatumReader<>(requestSchema, requestSchema, model);
+        responseWriter = new GenericDatumWriter<>(responseSchema, model);
+        responseReader = new GenericDatumReader<>(responseSchema, responseSchema, model);
+    }
+
+    public byte[] encode(PaymentRequestDto payment) {
+        GenericRecord record = new GenericData.Record(requestSchema);
+        record.put("eventType", payment.getEventType());
+        record.put("orderId", payment.getOrderId());
+        record.put("userId", payment.getUserId());
+        record.put("paymentAmount", toAmount(payment.getPaymentAmount()));
+        return write(requestWriter, record);
+    }
+
+    public PaymentRequestDto decodeRequest(byte[] data) {
+        GenericRecord record = read(requestReader, data);
+        return PaymentRequestDto.builder()
+                .eventType(record.get("eventType").toString())
+                .orderId((Long) record.get("orderId"))
+                .userId((Long) record.get("userId"))
+                .paymentAmount((BigDecimal) record.get("paymentAmount"))
+                .build();
+    }
+
+    public byte[] encode(PaymentResponseDto payment) {
+        GenericRecord record = new GenericData.Record(responseSchema);
+        record.put("eventType", payment.getEventType());
+        record.put("id", payment.getId());
+        record.put("status", payment.getStatus() == null
+                ? null
+                : new GenericData.EnumSymbol(statusSchema, payment.getStatus().name()));
+        record.put("timestamp", payment.getTimestamp());
+        record.put("paymentAmount", toAmount(payment.getPaymentAmount()));
+        record.put("userId", payment.getUserId());
+        record.put("orderId", payment.getOrderId());
+        return write(responseWriter, record);
+    }
+
+    public PaymentResponseDto decodeResponse(byte[] data) {
+        GenericRecord record = read(responseReader, data);
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setEventType(toStringOrNull(record.get("eventType")));
+        payment.setId(toStringOrNull(record.get("id")));
+        payment.setStatus(record.get("status") == null
+                ? null
+                : PaymentStatus.valueOf(record.get("status").toString()));
+        payment.setTimestamp((LocalDateTime) record.get("timestamp"));
+        payment.setPaymentAmount((BigDecimal) record.get("paymentAmount"));
+        payment.setUserId((Long) record.get("userId"));
+        payment.setOrderId((Long) record.get("orderId"));
+        return payment;
+    }
+
+    private static BigDecimal toAmount(BigDecimal amount) {
+        return amount == null ? null : amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY);
+    }
+
+    private static String toStringOrNull(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private byte[] write(GenericDatumWriter<GenericRecord> writer, GenericRecord record) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, encoders.get());
+        encoders.set(encoder);
+        try {
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to encode " + record.getSchema().getName() + " as Avro", e);
+        }
+        return out.toByteArray();
+    }
+
+    private GenericRecord read(GenericDatumReader<GenericRecord> reader, byte[] data) {
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, decoders.get());
+        decoders.set(decoder);
+        try {
+            return reader.read(null, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to decode " + reader.getSchema().getName() + " from Avro", e);
+        }
+    }
+
+    private static Schema loadSchema(String path) {
+        try (InputStream schema = PaymentAvroCodec.class.getResourceAsStream(path)) {
+            return new Schema.Parser().parse(schema);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load Avro schema " + path, e);
+        }
+    }
+}
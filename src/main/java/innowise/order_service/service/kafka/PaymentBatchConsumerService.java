@@ -0,0 +1,52 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.service.payment.PaymentEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payments.consumer.mode", havingValue = "batch")
+public class PaymentBatchConsumerService {
+    private final PaymentEventService paymentEventService;
+    private final PaymentRetryPublisher paymentRetryPublisher;
+
+    @KafkaListener(id = "payments-listener", topics = PaymentRetryPublisher.PAYMENTS_TOPIC,
+            groupId = "order-service-group", containerFactory = "paymentBatchListenerContainerFactory")
+    public void listenPaymentEvents(List<PaymentResponseDto> payments) {
+        log.info("Received {} events from payments topic", payments.size());
+
+        try {
+            paymentEventService.processBatch(payments);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply batch of {} payment events, applying them one by one", payments.size(), e);
+            processOneByOne(payments);
+        }
+    }
+
+    private void processOneByOne(List<PaymentResponseDto> payments) {
+        Set<Long> parkedOrders = new HashSet<>();
+        for (PaymentResponseDto payment : payments) {
+            if (parkedOrders.contains(payment.getOrderId())) {
+                paymentRetryPublisher.forward(payment,
+                        new IllegalStateException("Earlier event for the order is waiting for retry"));
+                continue;
+            }
+            try {
+                paymentEventService.process(payment);
+            } catch (RuntimeException e) {
+                parkedOrders.add(payment.getOrderId());
+                paymentRetryPublisher.forward(payment, e);
+            }
+        }
+    }
+}
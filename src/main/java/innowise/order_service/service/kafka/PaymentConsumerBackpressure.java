@@ -0,0 +1,186 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.config.PaymentBackpressureProperties;
+import innowise.order_service.config.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "payments.backpressure.enabled", havingValue = "true")
+public class PaymentConsumerBackpressure {
+    public static final String LISTENER_ID_PREFIX = "payments-";
+
+    private static final String CONSUMER_GROUP = "order-service-group";
+    private static final long ADMIN_TIMEOUT_SECONDS = 5;
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final PaymentBackpressureProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter pauses;
+    private final Counter resumes;
+    private final AtomicLong lag = new AtomicLong();
+    private volatile boolean paused;
+    private Instant pausedAt;
+    private double lastUsageCount;
+    private double lastUsageTotalMillis;
+    private AdminClient adminClient;
+
+    public PaymentConsumerBackpressure(KafkaListenerEndpointRegistry listenerRegistry,
+                                       KafkaAdmin kafkaAdmin,
+                                       PaymentBackpressureProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        this.kafkaAdmin = kafkaAdmin;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.pauses = Counter.builder("payment.consumer.pauses")
+                .description("Times payment listeners were paused because the database was saturated")
+                .register(meterRegistry);
+        this.resumes = Counter.builder("payment.consumer.resumes")
+                .description("Times paused payment listeners were resumed")
+                .register(meterRegistry);
+        Gauge.builder("payment.consumer.paused", this, backpressure -> backpressure.paused ? 1 : 0)
+                .description("Whether payment listeners are paused by backpressure")
+                .register(meterRegistry);
+        Gauge.builder("payment.consumer.lag", lag, AtomicLong::get)
+                .description("Payment events not yet committed by the order-service consumer group")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.backpressure.check-interval:500ms}")
+    public void checkDatabasePressure() {
+        long pending = Math.round(pendingConnections());
+        long latencyMillis = Math.round(recentUsageMillis());
+
+        if (!paused && (pending >= properties.getPausePendingConnections()
+                || latencyMillis >= properties.getPauseLatency().toMillis())) {
+            log.warn("Pausing payment listeners: {} threads wait for a connection, connections held {} ms",
+                    pending, latencyMillis);
+            listenerContainers().forEach(MessageListenerContainer::pause);
+            paused = true;
+            pausedAt = Instant.now();
+            pauses.increment();
+        } else if (paused && pending <= properties.getResumePendingConnections()
+                && latencyMillis <= properties.getResumeLatency().toMillis()
+                && !Instant.now().isBefore(pausedAt.plus(properties.getMinPauseDuration()))) {
+            log.info("Resuming payment listeners: {} threads wait for a connection, connections held {} ms",
+                    pending, latencyMillis);
+            listenerContainers().forEach(MessageListenerContainer::resume);
+            paused = false;
+            resumes.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payments.backpressure.lag-interval:15s}")
+    public void refreshLag() {
+        try {
+            AdminClient admin = adminClient();
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(CONSUMER_GROUP)
+                    .partitionsToOffsetAndMetadata()
+                    .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .entrySet().stream()
+                    .filter(entry -> entry.getKey().topic().equals(PaymentRetryPublisher.PAYMENTS_TOPIC)
+                            && entry.getValue() != null)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            if (committed.isEmpty()) {
+                lag.set(0);
+                return;
+            }
+
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = admin
+                    .listOffsets(committed.keySet().stream()
+                            .collect(Collectors.toMap(Function.identity(), partition -> OffsetSpec.latest())))
+                    .all()
+                    .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            lag.set(committed.entrySet().stream()
+                    .mapToLong(entry -> Math.max(0,
+                            endOffsets.get(entry.getKey()).offset() - entry.getValue().offset()))
+                    .sum());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to refresh payments consumer lag: {}", e.getMessage());
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+
+    private double pendingConnections() {
+        return meterRegistry.find("hikaricp.connections.pending").gauges().stream()
+                .filter(this::isPrimaryPool)
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private double recentUsageMillis() {
+        double count = 0;
+        double totalMillis = 0;
+        for (Timer usage : meterRegistry.find("hikaricp.connections.usage").timers()) {
+            if (!isPrimaryPool(usage)) {
+                continue;
+            }
+            count += usage.count();
+            totalMillis += usage.totalTime(TimeUnit.MILLISECONDS);
+        }
+
+        double recentCount = count - lastUsageCount;
+        double recentMillis = totalMillis - lastUsageTotalMillis;
+        lastUsageCount = count;
+        lastUsageTotalMillis = totalMillis;
+        return recentCount >= properties.getMinLatencySamples() ? recentMillis / recentCount : 0;
+    }
+
+    private boolean isPrimaryPool(Meter meter) {
+        String pool = meter.getId().getTag("pool");
+        return pool == null || !pool.startsWith(ReplicaRoutingDataSource.REPLICA_POOL_PREFIX);
+    }
+
+    private List<MessageListenerContainer> listenerContainers() {
+        return listenerRegistry.getAllListenerContainers().stream()
+                .filter(container -> container.getListenerId() != null
+                        && container.getListenerId().startsWith(LISTENER_ID_PREFIX))
+                .toList();
+    }
+
+    private synchronized AdminClient adminClient() {
+        if (adminClient == null) {
+            adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return adminClient;
+    }
+}
@@ -0,0 +1,56 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.config.PaymentSerializationProperties;
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.messaging.MessageHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class PaymentEventSerializer implements Serializer<Object> {
+    private static final byte[] AVRO_CONTENT_TYPE = PaymentAvroCodec.CONTENT_TYPE.getBytes(StandardCharsets.UTF_8);
+
+    private final PaymentAvroCodec paymentAvroCodec;
+    private final PaymentSerializationProperties paymentSerializationProperties;
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    public PaymentEventSerializer(PaymentAvroCodec paymentAvroCodec,
+                                  PaymentSerializationProperties paymentSerializationProperties) {
+        this.paymentAvroCodec = paymentAvroCodec;
+        this.paymentSerializationProperties = paymentSerializationProperties;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (headers != null && paymentSerializationProperties.formatFor(topic) == PaymentSerializationProperties.Format.AVRO) {
+            if (data instanceof PaymentRequestDto payment) {
+                headers.add(MessageHeaders.CONTENT_TYPE, AVRO_CONTENT_TYPE);
+                return paymentAvroCodec.encode(payment);
+            }
+            if (data instanceof PaymentResponseDto payment) {
+                headers.add(MessageHeaders.CONTENT_TYPE, AVRO_CONTENT_TYPE);
+                return paymentAvroCodec.encode(payment);
+            }
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -0,0 +1,38 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.support.converter.StringJsonMessageConverter;
+import org.springframework.messaging.MessageHeaders;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+public class PaymentMessageConverter extends StringJsonMessageConverter {
+    private final PaymentAvroCodec paymentAvroCodec;
+
+    public PaymentMessageConverter(PaymentAvroCodec paymentAvroCodec) {
+        this.paymentAvroCodec = paymentAvroCodec;
+    }
+
+    @Override
+    protected Object extractAndConvertValue(ConsumerRecord<?, ?> record, Type type) {
+        if (record.value() instanceof byte[] data && isAvro(record)) {
+            if (type == PaymentResponseDto.class) {
+                return paymentAvroCodec.decodeResponse(data);
+            }
+            if (type == PaymentRequestDto.class) {
+                return paymentAvroCodec.decodeRequest(data);
+            }
+        }
+        return super.extractAndConvertValue(record, type);
+    }
+
+    private static boolean isAvro(ConsumerRecord<?, ?> record) {
+        Header contentType = record.headers().lastHeader(MessageHeaders.CONTENT_TYPE);
+        return contentType != null
+                && PaymentAvroCodec.CONTENT_TYPE.equals(new String(contentType.value(), StandardCharsets.UTF_8));
+    }
+}
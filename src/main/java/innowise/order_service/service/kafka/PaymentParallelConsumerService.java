@@ -0,0 +1,150 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.config.PaymentConsumerProperties;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.service.payment.PaymentEventService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "payments.consumer.mode", havingValue = "parallel")
+public class PaymentParallelConsumerService {
+    private final PaymentEventService paymentEventService;
+    private final PaymentRetryPublisher paymentRetryPublisher;
+    private final PaymentConsumerProperties.Parallel properties;
+    private final List<ExecutorService> workers = new ArrayList<>();
+    private final Semaphore inFlightRecords;
+    private final AtomicLong saturatedSince = new AtomicLong();
+
+    public PaymentParallelConsumerService(PaymentEventService paymentEventService,
+                                          PaymentRetryPublisher paymentRetryPublisher,
+                                          PaymentConsumerProperties paymentConsumerProperties) {
+        this.paymentEventService = paymentEventService;
+        this.paymentRetryPublisher = paymentRetryPublisher;
+        this.properties = paymentConsumerProperties.getParallel();
+        this.inFlightRecords = new Semaphore(properties.getMaxInFlight());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.add(Executors.newSingleThreadExecutor(Thread.ofPlatform().name("payment-worker-" + i).factory()));
+        }
+    }
+
+    @KafkaListener(id = "payments-listener", topics = PaymentRetryPublisher.PAYMENTS_TOPIC,
+            groupId = "order-service-group", containerFactory = "paymentParallelListenerContainerFactory")
+    public void listenPaymentEvent(PaymentResponseDto payment, Acknowledgment acknowledgment)
+            throws InterruptedException {
+        acquireInFlightPermit(payment);
+        try {
+            workerFor(payment.getOrderId()).execute(() -> {
+                boolean handled = false;
+                try {
+                    handled = process(payment);
+                } finally {
+                    if (handled) {
+                        acknowledgment.acknowledge();
+                    } else {
+                        log.warn("Payment event {} for order {} is left unacknowledged and will be redelivered",
+                                payment.getId(), payment.getOrderId());
+                    }
+                    inFlightRecords.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightRecords.release();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.forEach(ExecutorService::shutdown);
+        for (ExecutorService worker : workers) {
+            if (!worker.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Payment worker did not finish pending events in time, they will be redelivered");
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    private void acquireInFlightPermit(PaymentResponseDto payment) throws InterruptedException {
+        if (inFlightRecords.tryAcquire()) {
+            saturatedSince.set(0);
+            return;
+        }
+
+        long now = System.nanoTime();
+        saturatedSince.compareAndSet(0, now);
+        long remaining = properties.getAcquireTimeout().toNanos() - (now - saturatedSince.get());
+        if (remaining > 0 && inFlightRecords.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+            return;
+        }
+
+        saturatedSince.set(0);
+        log.warn("Payment workers are saturated with {} events in flight, event for order {} will be redelivered",
+                properties.getMaxInFlight(), payment.getOrderId());
+        throw new KafkaException("Timed out waiting for a free payment worker slot for order " + payment.getOrderId());
+    }
+
+    private ExecutorService workerFor(Long orderId) {
+        return workers.get(Math.floorMod(Long.hashCode(orderId), workers.size()));
+    }
+
+    private boolean process(PaymentResponseDto payment) {
+        log.info("Received {} event from payments topic for {} order. The status is {}",
+                payment.getEventType(), payment.getOrderId(), payment.getStatus());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                paymentEventService.process(payment);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt % properties.getMaxAttempts() == 0) {
+                    log.warn("Failed to apply payment event for order {} after {} attempts",
+                            payment.getOrderId(), attempt);
+                    if (park(payment, e)) {
+                        return true;
+                    }
+                } else {
+                    log.warn("Failed to apply payment event for order {}, attempt {}", payment.getOrderId(), attempt);
+                }
+                if (!backOff()) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean park(PaymentResponseDto payment, RuntimeException cause) {
+        try {
+            paymentRetryPublisher.forward(payment, cause);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to park payment event {} for order {}, retrying: {}",
+                    payment.getId(), payment.getOrderId(), payment, e);
+            return false;
+        }
+    }
+
+    private boolean backOff() {
+        try {
+            Thread.sleep(properties.getRetryBackoff());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.service.payment.PaymentDeadLetterService;
+import innowise.order_service.service.payment.PaymentEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentRetryConsumerService {
+    private final PaymentEventService paymentEventService;
+    private final PaymentDeadLetterService paymentDeadLetterService;
+
+    @KafkaListener(id = "payments-retry-listener", topics = PaymentRetryPublisher.PAYMENTS_RETRY_TOPIC,
+            groupId = "order-service-group")
+    public void retryPaymentEvent(PaymentResponseDto payment) {
+        log.info("Retrying {} event for {} order. The status is {}",
+                payment.getEventType(), payment.getOrderId(), payment.getStatus());
+
+        paymentEventService.process(payment);
+    }
+
+    public void handleDeadLetter(ConsumerRecord<String, byte[]> record) {
+        Header exceptionHeader = record.headers().lastHeader(KafkaHeaders.EXCEPTION_MESSAGE);
+        String exceptionMessage = exceptionHeader == null
+                ? null
+                : new String(exceptionHeader.value(), StandardCharsets.UTF_8);
+
+        paymentDeadLetterService.store(record.key(), new String(record.value(), StandardCharsets.UTF_8),
+                exceptionMessage);
+    }
+}
@@ -0,0 +1,78 @@
+package innowise.order_service.service.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.config.PaymentRetryProperties;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+public class PaymentRetryPublisher {
+    public static final String PAYMENTS_TOPIC = "payments";
+    public static final String PAYMENTS_RETRY_TOPIC = "payments-retry";
+
+    private final DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final PaymentRetryProperties paymentRetryProperties;
+
+    public PaymentRetryPublisher(ProducerFactory<Object, Object> producerFactory,
+                                 ObjectMapper objectMapper,
+                                 PaymentRetryProperties paymentRetryProperties) {
+        this.producerFactory = new DefaultKafkaProducerFactory<>(producerFactory.getConfigurationProperties(),
+                new StringSerializer(), new ByteArraySerializer());
+        this.kafkaTemplate = new KafkaTemplate<>(this.producerFactory);
+        this.objectMapper = objectMapper;
+        this.paymentRetryProperties = paymentRetryProperties;
+    }
+
+    public KafkaTemplate<String, byte[]> getKafkaTemplate() {
+        return kafkaTemplate;
+    }
+
+    public void forward(PaymentResponseDto payment, Exception cause) {
+        log.warn("Parking payment event {} for order {} on {} topic: {}",
+                payment.getId(), payment.getOrderId(), PAYMENTS_RETRY_TOPIC, cause.getMessage());
+
+        try {
+            send(PAYMENTS_RETRY_TOPIC, String.valueOf(payment.getOrderId()), objectMapper.writeValueAsBytes(payment));
+        } catch (JsonProcessingException e) {
+            throw new KafkaException("Failed to serialize payment event for order " + payment.getOrderId(), e);
+        }
+    }
+
+    public void replay(String key, String payload) {
+        send(PAYMENTS_TOPIC, key, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        producerFactory.destroy();
+    }
+
+    private void send(String topic, String key, byte[] payload) {
+        try {
+            kafkaTemplate.send(topic, key, payload)
+                    .get(paymentRetryProperties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while sending payment event to " + topic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to send payment event to " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package innowise.order_service.service.kafka;
+
+import innowise.order_service.dto.user.UserChangedEventDto;
+import innowise.order_service.service.UserCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user-service.cache.invalidation-topic")
+public class UserEventsConsumerService {
+    private final UserCacheService userCacheService;
+
+    @KafkaListener(topics = "${user-service.cache.invalidation-topic}",
+            groupId = "${spring.application.name}-user-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void listenUserChangedEvent(UserChangedEventDto event) {
+        log.info("Received {} event for user {}", event.getEventType(), event.getUserId());
+
+        userCacheService.evict(event.getUserId());
+    }
+}
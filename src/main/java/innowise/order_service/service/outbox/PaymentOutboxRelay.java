@@ -0,0 +1,133 @@
+package innowise.order_service.service.outbox;
+
+import innowise.order_service.config.PaymentOutboxProperties;
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.entity.PaymentOutboxEvent;
+import innowise.order_service.repository.PaymentOutboxRepository;
+import innowise.order_service.service.kafka.KafkaProducerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "payments.outbox.enabled", havingValue = "true")
+public class PaymentOutboxRelay {
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final PaymentOutboxProperties paymentOutboxProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer publishLag;
+
+    public PaymentOutboxRelay(PaymentOutboxRepository paymentOutboxRepository,
+                              KafkaProducerService kafkaProducerService,
+                              PaymentOutboxProperties paymentOutboxProperties,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.paymentOutboxRepository = paymentOutboxRepository;
+        this.kafkaProducerService = kafkaProducerService;
+        this.paymentOutboxProperties = paymentOutboxProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("payment.outbox.depth", depth, AtomicLong::get)
+                .description("Outbox events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("payment.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest outbox event waiting to be published")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.publishLag = Timer.builder("payment.outbox.publish.lag")
+                .description("Time from writing an outbox event to its broker acknowledgement")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.outbox.relay-interval:500ms}",
+            initialDelayString = "${payments.outbox.relay-interval:500ms}")
+    public void relayPendingEvents() {
+        int batches = 0;
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+            batches++;
+        } while (published == paymentOutboxProperties.getBatchSize()
+                && batches < paymentOutboxProperties.getMaxBatchesPerRun());
+
+        refreshMetrics();
+    }
+
+    @Scheduled(fixedDelayString = "${payments.outbox.prune-interval:1h}",
+            initialDelayString = "${payments.outbox.prune-interval:1h}")
+    public void pruneSentEvents() {
+        LocalDateTime sentBefore = LocalDateTime.now().minus(paymentOutboxProperties.getRetention());
+        Integer deleted = transactionTemplate.execute(status -> paymentOutboxRepository.deleteSentBefore(sentBefore));
+        log.info("{} sent outbox events older than {} pruned", deleted, sentBefore);
+    }
+
+    private int relayBatch() {
+        List<PaymentOutboxEvent> events = paymentOutboxRepository.lockPendingEvents(
+                paymentOutboxProperties.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = events.stream()
+                .<CompletableFuture<?>>map(event -> kafkaProducerService.send(toPaymentRequestDto(event)))
+                .toList();
+
+        long deadline = System.nanoTime() + paymentOutboxProperties.getSendTimeout().toNanos();
+        List<Long> sentIds = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            PaymentOutboxEvent event = events.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sentIds.add(event.getId());
+                publishLag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Failed to publish outbox event {} for order {}, will retry", event.getId(),
+                        event.getOrderId(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            paymentOutboxRepository.markSent(sentIds, LocalDateTime.now());
+        }
+        log.info("{} of {} outbox events published", sentIds.size(), events.size());
+        return sentIds.size();
+    }
+
+    private void refreshMetrics() {
+        depth.set(paymentOutboxRepository.countBySentAtIsNull());
+        lagMillis.set(paymentOutboxRepository.findOldestPendingCreatedAt()
+                .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    private PaymentRequestDto toPaymentRequestDto(PaymentOutboxEvent event) {
+        return PaymentRequestDto.builder()
+                .eventType(event.getEventType())
+                .orderId(event.getOrderId())
+                .userId(event.getUserId())
+                .paymentAmount(event.getPaymentAmount())
+                .build();
+    }
+}
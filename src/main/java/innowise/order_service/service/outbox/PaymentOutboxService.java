@@ -0,0 +1,37 @@
+package innowise.order_service.service.outbox;
+
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.PaymentOutboxEvent;
+import innowise.order_service.repository.PaymentOutboxRepository;
+import innowise.order_service.service.kafka.KafkaProducerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentOutboxService {
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final KafkaProducerService kafkaProducerService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueCreatePaymentEvent(Order order) {
+        PaymentRequestDto paymentRequestDto = kafkaProducerService.toCreatePaymentEvent(order);
+
+        paymentOutboxRepository.save(PaymentOutboxEvent.builder()
+                .eventType(paymentRequestDto.getEventType())
+                .orderId(paymentRequestDto.getOrderId())
+                .userId(paymentRequestDto.getUserId())
+                .paymentAmount(paymentRequestDto.getPaymentAmount())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        log.info("{} event for order {} written to outbox", paymentRequestDto.getEventType(), order.getId());
+    }
+}
@@ -0,0 +1,81 @@
+package innowise.order_service.service.payment;
+
+import innowise.order_service.config.PaymentRetryProperties;
+import innowise.order_service.dto.payment.PaymentDeadLetterDto;
+import innowise.order_service.entity.PaymentDeadLetter;
+import innowise.order_service.repository.PaymentDeadLetterRepository;
+import innowise.order_service.service.kafka.PaymentRetryPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentDeadLetterService {
+    private static final int EXCEPTION_MESSAGE_LENGTH = 1000;
+
+    private final PaymentDeadLetterRepository paymentDeadLetterRepository;
+    private final PaymentRetryPublisher paymentRetryPublisher;
+    private final PaymentRetryProperties paymentRetryProperties;
+
+    @Transactional
+    public void store(String key, String payload, String exceptionMessage) {
+        PaymentDeadLetter deadLetter = paymentDeadLetterRepository.save(PaymentDeadLetter.builder()
+                .messageKey(key)
+                .payload(payload)
+                .exceptionMessage(exceptionMessage == null || exceptionMessage.length() <= EXCEPTION_MESSAGE_LENGTH
+                        ? exceptionMessage
+                        : exceptionMessage.substring(0, EXCEPTION_MESSAGE_LENGTH))
+                .failedAt(LocalDateTime.now())
+                .build());
+
+        log.error("Payment event with key {} dead-lettered as {}: {}", key, deadLetter.getId(), exceptionMessage);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentDeadLetterDto> getPendingDeadLetters() {
+        return paymentDeadLetterRepository
+                .findByReplayedAtIsNullOrderByIdAsc(Limit.of(paymentRetryProperties.getReplayBatchSize()))
+                .stream()
+                .map(deadLetter -> PaymentDeadLetterDto.builder()
+                        .id(deadLetter.getId())
+                        .messageKey(deadLetter.getMessageKey())
+                        .payload(deadLetter.getPayload())
+                        .exceptionMessage(deadLetter.getExceptionMessage())
+                        .failedAt(deadLetter.getFailedAt())
+                        .build())
+                .toList();
+    }
+
+    @Transactional
+    public boolean replay(long id) {
+        return paymentDeadLetterRepository.findById(id)
+                .filter(deadLetter -> deadLetter.getReplayedAt() == null)
+                .map(this::republish)
+                .orElse(false);
+    }
+
+    @Transactional
+    public int replayPending() {
+        List<PaymentDeadLetter> deadLetters = paymentDeadLetterRepository
+                .findByReplayedAtIsNullOrderByIdAsc(Limit.of(paymentRetryProperties.getReplayBatchSize()));
+        deadLetters.forEach(this::republish);
+
+        log.info("{} dead-lettered payment events replayed", deadLetters.size());
+        return deadLetters.size();
+    }
+
+    private boolean republish(PaymentDeadLetter deadLetter) {
+        paymentRetryPublisher.replay(deadLetter.getMessageKey(), deadLetter.getPayload());
+        deadLetter.setReplayedAt(LocalDateTime.now());
+
+        log.info("Dead-lettered payment event {} replayed to payments topic", deadLetter.getId());
+        return true;
+    }
+}
@@ -0,0 +1,178 @@
+package innowise.order_service.service.payment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import innowise.order_service.config.PaymentDedupeProperties;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.ProcessedPaymentEventRepository;
+import innowise.order_service.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class PaymentEventService {
+    private final OrderService orderService;
+    private final ProcessedPaymentEventRepository processedPaymentEventRepository;
+    private final PaymentDedupeProperties paymentDedupeProperties;
+    private final PaymentRoundTripMetrics paymentRoundTripMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Boolean> recentlyProcessed;
+    private final Counter processedEvents;
+    private final Counter memoryDuplicates;
+    private final Counter databaseDuplicates;
+
+    public PaymentEventService(OrderService orderService,
+                               ProcessedPaymentEventRepository processedPaymentEventRepository,
+                               PaymentDedupeProperties paymentDedupeProperties,
+                               PaymentRoundTripMetrics paymentRoundTripMetrics,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.processedPaymentEventRepository = processedPaymentEventRepository;
+        this.paymentDedupeProperties = paymentDedupeProperties;
+        this.paymentRoundTripMetrics = paymentRoundTripMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recentlyProcessed = Caffeine.newBuilder()
+                .maximumSize(paymentDedupeProperties.getCacheSize())
+                .build();
+        this.processedEvents = Counter.builder("payment.events.processed")
+                .description("Payment events applied to orders")
+                .register(meterRegistry);
+        this.memoryDuplicates = duplicatesCounter(meterRegistry, "memory");
+        this.databaseDuplicates = duplicatesCounter(meterRegistry, "database");
+    }
+
+    public void process(PaymentResponseDto payment) {
+        String eventId = dedupeKey(payment);
+        if (eventId != null && recentlyProcessed.getIfPresent(eventId) != null) {
+            log.info("Payment event {} for order {} was already processed", eventId, payment.getOrderId());
+            memoryDuplicates.increment();
+            return;
+        }
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        Map<Long, LocalDateTime> waitingSince = new HashMap<>();
+        Boolean applied = transactionTemplate.execute(status -> {
+            if (eventId != null && processedPaymentEventRepository.insertIfAbsent(eventId, receivedAt) == 0) {
+                return false;
+            }
+            waitingSince.putAll(paymentRoundTripMetrics.findWaitingSince(List.of(payment.getOrderId())));
+            orderService.applyPaymentStatus(payment.getOrderId(), toOrderStatus(payment.getStatus()));
+            return true;
+        });
+        recordRoundTrips(List.of(payment), waitingSince, receivedAt);
+
+        if (eventId != null) {
+            recentlyProcessed.put(eventId, Boolean.TRUE);
+        }
+        if (Boolean.TRUE.equals(applied)) {
+            processedEvents.increment();
+        } else {
+            log.info("Payment event {} for order {} was already processed", eventId, payment.getOrderId());
+            databaseDuplicates.increment();
+        }
+    }
+
+    public void processBatch(List<PaymentResponseDto> payments) {
+        Set<String> batchEventIds = new LinkedHashSet<>();
+        List<PaymentResponseDto> candidates = payments.stream()
+                .filter(payment -> {
+                    String eventId = dedupeKey(payment);
+                    return eventId == null
+                            || (recentlyProcessed.getIfPresent(eventId) == null && batchEventIds.add(eventId));
+                })
+                .toList();
+        memoryDuplicates.increment(payments.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        String[] eventIds = batchEventIds.toArray(String[]::new);
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<PaymentResponseDto> appliedPayments = new ArrayList<>();
+        Map<Long, LocalDateTime> waitingSince = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> newEventIds = eventIds.length == 0
+                    ? Set.of()
+                    : new HashSet<>(processedPaymentEventRepository.insertAbsent(eventIds, receivedAt));
+
+            Map<Long, OrderStatus> orderStatuses = new LinkedHashMap<>();
+            for (PaymentResponseDto payment : candidates) {
+                String eventId = dedupeKey(payment);
+                if (eventId == null || newEventIds.contains(eventId)) {
+                    orderStatuses.put(payment.getOrderId(), toOrderStatus(payment.getStatus()));
+                    appliedPayments.add(payment);
+                }
+            }
+            if (!orderStatuses.isEmpty()) {
+                waitingSince.putAll(paymentRoundTripMetrics.findWaitingSince(orderStatuses.keySet()));
+                orderService.applyPaymentStatuses(orderStatuses);
+            }
+        });
+        recordRoundTrips(appliedPayments, waitingSince, receivedAt);
+
+        for (String eventId : eventIds) {
+            recentlyProcessed.put(eventId, Boolean.TRUE);
+        }
+        int appliedEvents = appliedPayments.size();
+        processedEvents.increment(appliedEvents);
+        databaseDuplicates.increment(candidates.size() - appliedEvents);
+        log.info("{} of {} payment events applied, {} duplicates skipped", appliedEvents, payments.size(),
+                payments.size() - appliedEvents);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.dedupe.prune-interval:1h}",
+            initialDelayString = "${payments.dedupe.prune-interval:1h}")
+    public void pruneProcessedEvents() {
+        LocalDateTime processedBefore = LocalDateTime.now().minus(paymentDedupeProperties.getRetention());
+        Integer deleted = transactionTemplate.execute(status ->
+                processedPaymentEventRepository.deleteProcessedBefore(processedBefore));
+        log.info("{} processed payment event ids older than {} pruned", deleted, processedBefore);
+    }
+
+    public static OrderStatus toOrderStatus(PaymentStatus paymentStatus) {
+        return paymentStatus == PaymentStatus.COMPLETED ?
+                OrderStatus.PAYMENT_RECEIVED :
+                OrderStatus.PAYMENT_FAILED;
+    }
+
+    private void recordRoundTrips(List<PaymentResponseDto> payments, Map<Long, LocalDateTime> waitingSince,
+                                  LocalDateTime receivedAt) {
+        for (PaymentResponseDto payment : payments) {
+            LocalDateTime since = waitingSince.remove(payment.getOrderId());
+            if (since != null) {
+                paymentRoundTripMetrics.recordRoundTrip(payment.getStatus(), since, receivedAt);
+            }
+        }
+    }
+
+    private String dedupeKey(PaymentResponseDto payment) {
+        return paymentDedupeProperties.isEnabled() ? payment.getId() : null;
+    }
+
+    private static Counter duplicatesCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("payment.events.duplicates")
+                .description("Redelivered payment events skipped without touching orders")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package innowise.order_service.service.payment;
+
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.projection.PaymentWaitingProjection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class PaymentRoundTripMetrics {
+    private final OrderRepository orderRepository;
+    private final Timer completedRoundTrip;
+    private final Timer failedRoundTrip;
+    private final AtomicLong waitingOrders = new AtomicLong();
+    private final AtomicLong oldestWaitingMillis = new AtomicLong();
+
+    public PaymentRoundTripMetrics(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.completedRoundTrip = roundTripTimer(meterRegistry, PaymentStatus.COMPLETED);
+        this.failedRoundTrip = roundTripTimer(meterRegistry, PaymentStatus.FAILED);
+        Gauge.builder("payment.orders.waiting", waitingOrders, AtomicLong::get)
+                .description("Orders waiting for a payment response")
+                .register(meterRegistry);
+        Gauge.builder("payment.orders.waiting.oldest", oldestWaitingMillis, age -> age.get() / 1000.0)
+                .description("Time the oldest order has been waiting for a payment response")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public Map<Long, LocalDateTime> findWaitingSince(Collection<Long> orderIds) {
+        Map<Long, LocalDateTime> waitingSince = new HashMap<>();
+        for (PaymentWaitingProjection order : orderRepository.findPaymentWaitingByIdIn(orderIds)) {
+            waitingSince.put(order.orderId(), order.waitingSince());
+        }
+        return waitingSince;
+    }
+
+    public void recordRoundTrip(PaymentStatus status, LocalDateTime waitingSince, LocalDateTime receivedAt) {
+        Duration roundTrip = Duration.between(waitingSince, receivedAt);
+        if (roundTrip.isNegative()) {
+            return;
+        }
+        (status == PaymentStatus.COMPLETED ? completedRoundTrip : failedRoundTrip).record(roundTrip);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.round-trip.refresh-interval:15s}",
+            initialDelayString = "${payments.round-trip.refresh-interval:15s}")
+    public void refreshWaitingOrders() {
+        waitingOrders.set(orderRepository.countPaymentWaiting());
+        oldestWaitingMillis.set(orderRepository.findOldestPaymentWaitingSince()
+                .map(since -> Math.max(0, Duration.between(since, LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    private static Timer roundTripTimer(MeterRegistry meterRegistry, PaymentStatus status) {
+        return Timer.builder("payment.round.trip")
+                .description("Time from requesting a payment to receiving its result")
+                .tag("outcome", status.name())
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofMinutes(15))
+                .register(meterRegistry);
+    }
+}
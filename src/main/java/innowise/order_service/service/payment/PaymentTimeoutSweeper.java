@@ -0,0 +1,75 @@
+package innowise.order_service.service.payment;
+
+import innowise.order_service.config.PaymentTimeoutProperties;
+import innowise.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "payments.timeout.enabled", havingValue = "true")
+public class PaymentTimeoutSweeper {
+    public static final long SWEEP_LOCK_KEY = 0x6f72646572730001L;
+
+    private final OrderRepository orderRepository;
+    private final PaymentTimeoutProperties paymentTimeoutProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter timedOutOrders;
+    private final Counter skippedSweeps;
+
+    public PaymentTimeoutSweeper(OrderRepository orderRepository,
+                                 PaymentTimeoutProperties paymentTimeoutProperties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.paymentTimeoutProperties = paymentTimeoutProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timedOutOrders = Counter.builder("payment.timeout.orders")
+                .description("Orders moved to PAYMENT_FAILED after waiting too long for a payment")
+                .register(meterRegistry);
+        this.skippedSweeps = Counter.builder("payment.timeout.sweeps.skipped")
+                .description("Sweeps skipped because another instance holds the sweep lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.timeout.sweep-interval:30s}",
+            initialDelayString = "${payments.timeout.sweep-interval:30s}")
+    public void sweepTimedOutPayments() {
+        LocalDateTime waitingBefore = LocalDateTime.now().minus(paymentTimeoutProperties.getTimeout());
+        int batches = 0;
+        int total = 0;
+        int failed;
+        do {
+            failed = transactionTemplate.execute(status -> sweepBatch(waitingBefore));
+            if (failed < 0) {
+                skippedSweeps.increment();
+                log.info("Payment timeout sweep skipped, another instance is sweeping");
+                break;
+            }
+            total += failed;
+            batches++;
+        } while (failed == paymentTimeoutProperties.getBatchSize()
+                && batches < paymentTimeoutProperties.getMaxBatchesPerRun());
+
+        if (total > 0) {
+            timedOutOrders.increment(total);
+            log.warn("{} orders waiting for payment since before {} moved to PAYMENT_FAILED", total, waitingBefore);
+        }
+    }
+
+    private int sweepBatch(LocalDateTime waitingBefore) {
+        if (!orderRepository.tryAdvisoryTransactionLock(SWEEP_LOCK_KEY)) {
+            return -1;
+        }
+        return orderRepository.failPaymentWaitingBefore(waitingBefore, LocalDateTime.now(),
+                paymentTimeoutProperties.getBatchSize());
+    }
+}
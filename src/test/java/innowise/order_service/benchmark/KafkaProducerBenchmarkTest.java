@@ -0,0 +1,104 @@
+package innowise.order_service.benchmark;
+
+import innowise.order_service.config.PaymentProducerProperties;
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.service.kafka.KafkaProducerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@Slf4j
+class KafkaProducerBenchmarkTest {
+    private static final int EVENTS = 50_000;
+    private static final int WARMUP_EVENTS = 5_000;
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 6, "orders");
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void unkeyedDefaultProducer() {
+        run("unkeyed, default producer", false, Map.of());
+    }
+
+    @Test
+    void keyedIdempotentCompressedProducer() {
+        run("keyed, idempotent, lz4, linger 20ms", true, Map.of(
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+                ProducerConfig.LINGER_MS_CONFIG, 20,
+                ProducerConfig.BATCH_SIZE_CONFIG, 65536));
+    }
+
+    private void run(String name, boolean keyed, Map<String, Object> producerProperties) {
+        Map<String, Object> properties = new HashMap<>(producerProperties);
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        DefaultKafkaProducerFactory<String, PaymentRequestDto> producerFactory =
+                new DefaultKafkaProducerFactory<>(properties);
+        PaymentProducerProperties paymentProducerProperties = new PaymentProducerProperties();
+        paymentProducerProperties.setKeyed(keyed);
+        KafkaProducerService kafkaProducerService = new KafkaProducerService(
+                new KafkaTemplate<>(producerFactory), paymentProducerProperties, new SimpleMeterRegistry());
+
+        try {
+            sendAll(kafkaProducerService, WARMUP_EVENTS);
+
+            long start = System.nanoTime();
+            int sent = sendAll(kafkaProducerService, EVENTS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertEquals(EVENTS, sent);
+            log.info("{}: {} events in {} s, {} events/s", name, EVENTS, String.format("%.2f", seconds),
+                    String.format("%.0f", EVENTS / seconds));
+        } finally {
+            producerFactory.destroy();
+        }
+    }
+
+    private int sendAll(KafkaProducerService kafkaProducerService, int events) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(events);
+        for (long orderId = 0; orderId < events; orderId++) {
+            sends.add(kafkaProducerService.send(PaymentRequestDto.builder()
+                    .eventType("CREATE_ORDER")
+                    .orderId(orderId)
+                    .userId(orderId % 100)
+                    .paymentAmount(BigDecimal.valueOf(orderId % 1000, 2))
+                    .build()));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        return sends.size();
+    }
+}
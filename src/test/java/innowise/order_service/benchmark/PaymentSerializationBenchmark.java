@@ -0,0 +1,97 @@
+package innowise.order_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.service.kafka.PaymentAvroCodec;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentSerializationBenchmark {
+    static final String TOPIC = "orders";
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+    private final PaymentAvroCodec paymentAvroCodec = new PaymentAvroCodec();
+
+    private PaymentRequestDto request;
+    private PaymentResponseDto response;
+    private byte[] responseJson;
+    private byte[] responseAvro;
+
+    @Setup
+    public void setUp() {
+        request = paymentRequest();
+        response = paymentResponse();
+        responseJson = jsonSerializer.serialize(TOPIC, new RecordHeaders(), response);
+        responseAvro = paymentAvroCodec.encode(response);
+    }
+
+    @Benchmark
+    public byte[] encodeRequestJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), request);
+    }
+
+    @Benchmark
+    public byte[] encodeRequestAvro() {
+        return paymentAvroCodec.encode(request);
+    }
+
+    @Benchmark
+    public byte[] encodeResponseJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), response);
+    }
+
+    @Benchmark
+    public byte[] encodeResponseAvro() {
+        return paymentAvroCodec.encode(response);
+    }
+
+    @Benchmark
+    public PaymentResponseDto decodeResponseJson() throws IOException {
+        return objectMapper.readValue(responseJson, PaymentResponseDto.class);
+    }
+
+    @Benchmark
+    public PaymentResponseDto decodeResponseAvro() {
+        return paymentAvroCodec.decodeResponse(responseAvro);
+    }
+
+    static PaymentRequestDto paymentRequest() {
+        return PaymentRequestDto.builder()
+                .eventType("CREATE_PAYMENT")
+                .orderId(1_048_576L)
+                .userId(65_536L)
+                .paymentAmount(new BigDecimal("1249.90"))
+                .build();
+    }
+
+    static PaymentResponseDto paymentResponse() {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setEventType("PAYMENT_PROCESSED");
+        payment.setId("6650a1f2c3d4e5f607182930");
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setTimestamp(LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000));
+        payment.setPaymentAmount(new BigDecimal("1249.90"));
+        payment.setUserId(65_536L);
+        payment.setOrderId(1_048_576L);
+        return payment;
+    }
+}
@@ -0,0 +1,57 @@
+package innowise.order_service.benchmark;
+
+import innowise.order_service.service.kafka.PaymentAvroCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Tag("benchmark")
+@Slf4j
+class PaymentSerializationBenchmarkTest {
+    @Test
+    void compareJsonAndAvro() throws RunnerException {
+        logPayloadSizes();
+
+        Options options = new OptionsBuilder()
+                .include(PaymentSerializationBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+        results.forEach(result -> log.info("{}: {} ns/op",
+                result.getParams().getBenchmark().replace(PaymentSerializationBenchmark.class.getName() + ".", ""),
+                String.format("%.1f", result.getPrimaryResult().getScore())));
+    }
+
+    private void logPayloadSizes() {
+        PaymentAvroCodec paymentAvroCodec = new PaymentAvroCodec();
+        try (JsonSerializer<Object> jsonSerializer = new JsonSerializer<>()) {
+            log.info("PaymentRequestDto payload: {} bytes JSON, {} bytes Avro",
+                    jsonSerializer.serialize(PaymentSerializationBenchmark.TOPIC, new RecordHeaders(),
+                            PaymentSerializationBenchmark.paymentRequest()).length,
+                    paymentAvroCodec.encode(PaymentSerializationBenchmark.paymentRequest()).length);
+            log.info("PaymentResponseDto payload: {} bytes JSON, {} bytes Avro",
+                    jsonSerializer.serialize(PaymentSerializationBenchmark.TOPIC, new RecordHeaders(),
+                            PaymentSerializationBenchmark.paymentResponse()).length,
+                    paymentAvroCodec.encode(PaymentSerializationBenchmark.paymentResponse()).length);
+        }
+    }
+}
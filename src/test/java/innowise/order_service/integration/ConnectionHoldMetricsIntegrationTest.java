@@ -0,0 +1,132 @@
+package innowise.order_service.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderResponseDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.dto.user.UserResponseDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.service.UserCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+public class ConnectionHoldMetricsIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    @Test
+    void orderEndpoints_recordConnectionHoldTimePerEndpoint_andReleaseItBeforeUserService() throws Exception {
+        long userId = System.nanoTime();
+        when(userCacheService.getUserById(userId)).thenAnswer(invocation -> {
+            TimeUnit.SECONDS.sleep(1);
+            return UserResponseDto.builder().id(userId).build();
+        });
+        Item item = itemRepository.save(Item.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+        OrderCreateDto orderCreateDto = OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(item.getId())
+                        .quantity(1)
+                        .build()))
+                .build();
+
+        String created = mockMvc.perform(post("/api/order")
+                        .header(USER_ID_HEADER, String.valueOf(userId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderCreateDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readValue(created, OrderResponseDto.class).getId();
+
+        mockMvc.perform(get("/api/order/{id}", orderId)
+                        .header(USER_ID_HEADER, String.valueOf(userId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems[0].itemId").value(item.getId()));
+
+        Timer createHold = connectionHold("/api/order", "POST");
+        assertTrue(createHold.count() >= 1);
+        assertTrue(createHold.max(TimeUnit.MILLISECONDS) < 1000,
+                "Connection was held while calling user-service: " + createHold.max(TimeUnit.MILLISECONDS) + " ms");
+        assertEquals(1, connectionHold("/api/order/{id}", "GET").count());
+
+        long streamHoldsBefore = connectionHoldCount("/api/order/status/{status}/stream", "GET");
+        MvcResult stream = mockMvc.perform(get("/api/order/status/{status}/stream", "new")
+                        .header(USER_ID_HEADER, String.valueOf(userId)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk());
+
+        assertEquals(streamHoldsBefore + 1, connectionHoldCount("/api/order/status/{status}/stream", "GET"));
+    }
+
+    private Timer connectionHold(String uri, String method) {
+        return meterRegistry.get("db.connection.hold")
+                .tag("uri", uri)
+                .tag("method", method)
+                .timer();
+    }
+
+    private long connectionHoldCount(String uri, String method) {
+        Timer timer = meterRegistry.find("db.connection.hold")
+                .tag("uri", uri)
+                .tag("method", method)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
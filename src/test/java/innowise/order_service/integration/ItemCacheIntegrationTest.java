@@ -0,0 +1,186 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.config.ItemCacheConfig;
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.item.ItemChangedEventDto;
+import innowise.order_service.dto.item.ItemRequestDto;
+import innowise.order_service.dto.item.ItemResponseDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.exception.item.ItemNotFoundException;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.service.ItemCacheInvalidationService;
+import innowise.order_service.service.ItemService;
+import innowise.order_service.service.kafka.ItemEventsConsumerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class ItemCacheIntegrationTest {
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @Autowired
+    private ItemCacheInvalidationService itemCacheInvalidationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${items.cache.invalidation-topic}")
+    private String itemEventsTopic;
+
+    @Test
+    void itemById_isServedFromCache_andUpdatedOnItemChanges() {
+        ItemResponseDto item = createItem();
+        itemService.getItemById(item.getId());
+        double hits = cacheHits(ItemCacheConfig.ITEM_REGION);
+
+        itemService.getItemById(item.getId());
+        assertEquals(hits + 1, cacheHits(ItemCacheConfig.ITEM_REGION));
+
+        itemService.updateItem(ItemRequestDto.builder()
+                .name(item.getName() + " updated")
+                .price(BigDecimal.ONE)
+                .build(), item.getId());
+        assertEquals(item.getName() + " updated", itemService.getItemById(item.getId()).getName());
+
+        itemService.deleteItem(item.getId());
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemById(item.getId()));
+    }
+
+    @Test
+    void itemsByIds_areServedFromQueryCache_untilItemsChange() {
+        ItemResponseDto first = createItem();
+        ItemResponseDto second = createItem();
+        List<Long> ids = List.of(first.getId(), second.getId());
+        findItemPrices(ids);
+        double hits = cacheHits(ItemCacheConfig.ITEM_QUERY_REGION);
+
+        assertEquals(List.of(BigDecimal.TEN.setScale(2), BigDecimal.TEN.setScale(2)), findItemPrices(ids));
+        assertEquals(hits + 1, cacheHits(ItemCacheConfig.ITEM_QUERY_REGION));
+
+        itemService.updateItem(ItemRequestDto.builder()
+                .name(second.getName())
+                .price(BigDecimal.ONE)
+                .build(), second.getId());
+
+        assertEquals(List.of(BigDecimal.TEN.setScale(2), BigDecimal.ONE.setScale(2)), findItemPrices(ids));
+    }
+
+    @Test
+    void itemChangedEvents_evictNewerVersions_andIgnoreStaleOnes() {
+        await().atMost(Duration.ofSeconds(30)).until(() -> !kafkaListenerEndpointRegistry
+                .getListenerContainer(ItemEventsConsumerService.LISTENER_ID).getAssignedPartitions().isEmpty());
+        ItemResponseDto item = createItem();
+        double evicted = invalidations("evicted");
+
+        itemService.updateItem(ItemRequestDto.builder()
+                .name(item.getName())
+                .price(BigDecimal.ONE)
+                .build(), item.getId());
+        await().atMost(Duration.ofSeconds(30)).until(() -> invalidations("evicted") > evicted);
+
+        itemService.getItemById(item.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        double stale = invalidations("stale");
+        sendItemChangedEvent(item.getId(), 0);
+        await().atMost(Duration.ofSeconds(30)).until(() -> invalidations("stale") == stale + 1);
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        sendItemChangedEvent(item.getId(), 2);
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> !entityManagerFactory.getCache().contains(Item.class, item.getId()));
+    }
+
+    @Test
+    void staleItemLoad_isNotKeptInCache_untilDatabaseCatchesUp() {
+        ItemResponseDto item = createItem();
+        itemCacheInvalidationService.evict(item.getId(), 1);
+
+        assertEquals(BigDecimal.TEN.setScale(2), itemService.getItemById(item.getId()).getPrice().setScale(2));
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        jdbcTemplate.update("update items set price = ?, version = 1 where id = ?", BigDecimal.ONE, item.getId());
+
+        assertEquals(BigDecimal.ONE.setScale(2), itemService.getItemById(item.getId()).getPrice().setScale(2));
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+    }
+
+    private void sendItemChangedEvent(long itemId, long version) {
+        kafkaTemplate.send(itemEventsTopic, String.valueOf(itemId), ItemChangedEventDto.builder()
+                .eventType(ItemChangedEventDto.ITEM_UPDATED)
+                .itemId(itemId)
+                .version(version)
+                .build());
+    }
+
+    private double invalidations(String result) {
+        return meterRegistry.get("item.cache.invalidations").tag("result", result).counter().count();
+    }
+
+    private ItemResponseDto createItem() {
+        return itemService.createItem(ItemRequestDto.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+    }
+
+    private List<BigDecimal> findItemPrices(List<Long> ids) {
+        return transactionTemplate.execute(status -> itemRepository.findItemsByIdIn(ids).stream()
+                .sorted((left, right) -> Long.compare(left.getId(), right.getId()))
+                .map(Item::getPrice)
+                .map(price -> price.setScale(2))
+                .toList());
+    }
+
+    private double cacheHits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,129 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.order.OrderBulkCreateDto;
+import innowise.order_service.dto.order.OrderBulkResponseDto;
+import innowise.order_service.dto.order.OrderBulkResultDto;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.dto.user.UserResponseDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.service.OrderBulkService;
+import innowise.order_service.service.UserCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class OrderBulkIntegrationTest {
+    @Autowired
+    private OrderBulkService orderBulkService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private static final int ORDERS_COUNT = 250;
+
+    private long userId;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        userId = System.nanoTime();
+        when(userCacheService.getUserById(userId)).thenReturn(UserResponseDto.builder().id(userId).build());
+        items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name("Item " + UUID.randomUUID())
+                    .price(BigDecimal.TEN)
+                    .build()));
+        }
+    }
+
+    @Test
+    void addOrders_createsValidOrders_andReportsOrdersWithMissingItems() {
+        List<OrderCreateDto> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS_COUNT; i++) {
+            orders.add(order(items.get(i % items.size()).getId(), items.getFirst().getId()));
+        }
+        orders.set(7, order(items.getFirst().getId(), Long.MAX_VALUE));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        OrderBulkResponseDto response = orderBulkService.addOrders(OrderBulkCreateDto.builder()
+                .orders(orders)
+                .build(), userId);
+
+        assertEquals(ORDERS_COUNT - 1, response.getCreated());
+        assertEquals(1, response.getFailed());
+        OrderBulkResultDto failed = response.getResults().get(7);
+        assertNull(failed.getOrder());
+        assertEquals("Items with ids [" + Long.MAX_VALUE + "] were not found", failed.getError());
+        OrderBulkResultDto created = response.getResults().get(8);
+        assertNotNull(created.getOrder().getId());
+        assertEquals(userId, created.getOrder().getUser().getId());
+
+        assertEquals(ORDERS_COUNT - 1, orderRepository.findOrdersWithItemsByStatusAndUserId(OrderStatus.NEW, userId)
+                .size());
+        verify(userCacheService, times(1)).getUserById(userId);
+        assertTrue(statistics.getPrepareStatementCount() < 40,
+                "Expected one item query and batched inserts, but got "
+                        + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private OrderCreateDto order(long... itemIds) {
+        List<OrderItemRequestDto> orderItems = new ArrayList<>();
+        for (long itemId : itemIds) {
+            orderItems.add(OrderItemRequestDto.builder()
+                    .itemId(itemId)
+                    .quantity(1)
+                    .build());
+        }
+        return OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(orderItems)
+                .build();
+    }
+}
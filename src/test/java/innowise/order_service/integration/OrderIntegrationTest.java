@@ -28,6 +28,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,17 +40,22 @@ import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -127,6 +133,12 @@ public class OrderIntegrationTest {
         orderCreateDto.getOrderItems().forEach(orderItem -> orderItem.setItemId(itemId));
     }
 
+    private long addPaymentWaitingOrder() {
+        long orderId = orderService.addOrder(orderCreateDto, USER_ID).getId();
+        orderService.updateOrder(orderId, orderUpdateDto, USER_ID);
+        return orderId;
+    }
+
     @Test
     @Transactional
     void testCreateNew_savedInDatabase_withOrderItems() {
@@ -184,6 +196,36 @@ public class OrderIntegrationTest {
         assertEquals(orderUpdateDto.getStatus(), foundOrder.get().getStatus());
     }
 
+    @Test
+    @Transactional
+    void testApplyPaymentStatuses_bulkUpdatesEveryWaitingOrder() {
+        saveItem();
+
+        long firstOrderId = addPaymentWaitingOrder();
+        long secondOrderId = addPaymentWaitingOrder();
+        long newOrderId = orderService.addOrder(orderCreateDto, USER_ID).getId();
+        orderService.applyPaymentStatuses(Map.of(
+                firstOrderId, OrderStatus.PAYMENT_RECEIVED,
+                secondOrderId, OrderStatus.PAYMENT_FAILED,
+                newOrderId, OrderStatus.PAYMENT_RECEIVED));
+
+        assertEquals(OrderStatus.PAYMENT_RECEIVED, orderRepository.findById(firstOrderId).orElseThrow().getStatus());
+        assertEquals(OrderStatus.PAYMENT_FAILED, orderRepository.findById(secondOrderId).orElseThrow().getStatus());
+        assertEquals(OrderStatus.NEW, orderRepository.findById(newOrderId).orElseThrow().getStatus());
+    }
+
+    @Test
+    @Transactional
+    void testApplyPaymentStatus_doesNotOverwriteNewerResult() {
+        saveItem();
+
+        long orderId = addPaymentWaitingOrder();
+        assertTrue(orderService.applyPaymentStatus(orderId, OrderStatus.PAYMENT_RECEIVED));
+        assertFalse(orderService.applyPaymentStatus(orderId, OrderStatus.PAYMENT_FAILED));
+
+        assertEquals(OrderStatus.PAYMENT_RECEIVED, orderRepository.findById(orderId).orElseThrow().getStatus());
+    }
+
     @Test
     @Transactional
     void testUpdateOrder_failsWhenUserIsNotOrderOwner() {
@@ -216,8 +258,11 @@ public class OrderIntegrationTest {
                 .builder()
                 .status(OrderStatus.PAYMENT_WAITING)
                 .build();
+        when(kafkaOrderCreateEventTemplate.send(eq("orders"), eq(String.valueOf(orderId)), any(PaymentRequestDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
         orderService.updateOrder(orderId, updateDto, USER_ID);
 
-        verify(kafkaOrderCreateEventTemplate, times(1)).send(eq("orders"), any(PaymentRequestDto.class));
+        verify(kafkaOrderCreateEventTemplate, times(1))
+                .send(eq("orders"), eq(String.valueOf(orderId)), any(PaymentRequestDto.class));
     }
 }
@@ -0,0 +1,246 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.config.OrderReadProperties;
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderPageDto;
+import innowise.order_service.dto.order.OrderResponseDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.dto.order_items.OrderItemResponseDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.service.OrderService;
+import innowise.order_service.service.UserCacheService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class OrderQueryCountIntegrationTest {
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderReadProperties orderReadProperties;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private static final int ORDERS_COUNT = 3;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int BATCHED_ORDER_LINES = 50;
+
+    private final List<Long> orderIds = new ArrayList<>();
+    private long userId;
+    private Statistics statistics;
+    private boolean projectionEnabled;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        userId = System.nanoTime();
+        projectionEnabled = orderReadProperties.isProjection();
+        orderReadProperties.setProjection(false);
+    }
+
+    @AfterEach
+    void restoreReadModel() {
+        orderReadProperties.setProjection(projectionEnabled);
+    }
+
+    private void saveOrders() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name("Item " + UUID.randomUUID())
+                    .price(BigDecimal.TEN)
+                    .build()));
+        }
+
+        for (int i = 0; i < ORDERS_COUNT; i++) {
+            Order order = Order.builder()
+                    .userId(userId)
+                    .status(OrderStatus.NEW)
+                    .creationDate(LocalDateTime.now())
+                    .statusChangedAt(LocalDateTime.now())
+                    .orderItems(new ArrayList<>())
+                    .build();
+            for (Item item : items) {
+                order.getOrderItems().add(OrderItem.builder()
+                        .item(item)
+                        .order(order)
+                        .quantity(1)
+                        .unitPrice(item.getPrice())
+                        .itemName(item.getName())
+                        .build());
+            }
+            orderIds.add(orderRepository.save(order).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @Transactional
+    void getOrderById_loadsOrderItemsWithoutItems_inSingleQuery() {
+        saveOrders();
+
+        OrderResponseDto order = orderService.getOrderById(orderIds.getFirst(), userId);
+
+        assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size());
+        order.getOrderItems().forEach(orderItem -> assertTrue(orderItem.getName().startsWith("Item ")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Item.class.getName()).getLoadCount());
+    }
+
+    @Test
+    @Transactional
+    void getOrdersByIds_loadsOrderItemsWithoutItems_inSingleQuery() {
+        saveOrders();
+
+        List<OrderResponseDto> orders = orderService.getOrdersByIds(orderIds, userId);
+
+        assertEquals(ORDERS_COUNT, orders.size());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional
+    void getOrdersByStatus_loadsOrderItemsWithoutItems_inSingleQuery() {
+        saveOrders();
+
+        List<OrderResponseDto> orders = orderService.getOrdersByStatus(OrderStatus.NEW.name(), userId);
+
+        assertEquals(ORDERS_COUNT, orders.size());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional
+    void getOrdersPageByStatus_loadsPageInTwoQueries() {
+        saveOrders();
+
+        OrderPageDto page = orderService.getOrdersPageByStatus(OrderStatus.NEW.name(), userId, 0, ORDERS_COUNT - 1);
+
+        assertEquals(ORDERS_COUNT - 1, page.getOrders().size());
+        page.getOrders().forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional
+    void streamOrdersByStatus_loadsOrderItemsWithoutItems_inSingleQuery() {
+        saveOrders();
+
+        List<OrderResponseDto> orders = new ArrayList<>();
+        orderService.streamOrdersByStatus(OrderStatus.NEW, userId, orders::add);
+
+        assertEquals(orderIds, orders.stream().map(OrderResponseDto::getId).toList());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional
+    void projectionReadModel_returnsSameOrders_asEntityReadModel() {
+        saveOrders();
+
+        orderReadProperties.setProjection(false);
+        List<OrderResponseDto> fromEntities = orderService.getOrdersByIds(orderIds, userId);
+        entityManager.clear();
+        statistics.clear();
+
+        orderReadProperties.setProjection(true);
+        List<OrderResponseDto> fromProjection = orderService.getOrdersByIds(orderIds, userId);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(sorted(fromEntities), sorted(fromProjection));
+    }
+
+    @Test
+    @Transactional
+    void addOrder_insertsOrderLinesInOneBatch() {
+        List<OrderItemRequestDto> orderItems = new ArrayList<>();
+        for (int i = 0; i < BATCHED_ORDER_LINES; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + UUID.randomUUID())
+                    .price(BigDecimal.TEN)
+                    .build());
+            orderItems.add(OrderItemRequestDto.builder()
+                    .itemId(item.getId())
+                    .quantity(1)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        orderService.addOrder(OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(orderItems)
+                .build(), userId);
+        entityManager.flush();
+
+        assertEquals(BATCHED_ORDER_LINES + 1, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Expected item lookup, id sequence calls and two batched inserts, but got "
+                        + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private List<OrderResponseDto> sorted(List<OrderResponseDto> orders) {
+        orders.forEach(order -> order.getOrderItems().sort(Comparator.comparing(OrderItemResponseDto::getId)));
+        return orders.stream()
+                .sorted(Comparator.comparing(OrderResponseDto::getId))
+                .toList();
+    }
+}
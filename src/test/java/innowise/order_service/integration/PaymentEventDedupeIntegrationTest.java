@@ -0,0 +1,153 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderUpdateDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.entity.ProcessedPaymentEvent;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.ProcessedPaymentEventRepository;
+import innowise.order_service.service.OrderService;
+import innowise.order_service.service.UserCacheService;
+import innowise.order_service.service.payment.PaymentEventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class PaymentEventDedupeIntegrationTest {
+    @Autowired
+    private PaymentEventService paymentEventService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ProcessedPaymentEventRepository processedPaymentEventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private long userId;
+    private long orderId;
+
+    @BeforeEach
+    void createPaymentWaitingOrder() {
+        processedPaymentEventRepository.deleteAll();
+        userId = System.nanoTime();
+
+        Item item = itemRepository.save(Item.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+        orderId = orderService.addOrder(OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(item.getId())
+                        .quantity(1)
+                        .build()))
+                .build(), userId).getId();
+
+        orderService.updateOrder(orderId, OrderUpdateDto.builder()
+                .status(OrderStatus.PAYMENT_WAITING)
+                .build(), userId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        processedPaymentEventRepository.deleteAll();
+    }
+
+    @Test
+    void processBatch_skipsEventsAlreadyStoredByAnotherInstance() {
+        storeProcessedEvent("batch-1");
+
+        paymentEventService.processBatch(List.of(
+                payment("batch-2", PaymentStatus.FAILED),
+                payment("batch-1", PaymentStatus.COMPLETED)));
+
+        assertEquals(OrderStatus.PAYMENT_FAILED, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertEquals(2, processedPaymentEventRepository.count());
+    }
+
+    @Test
+    void process_skipsEventAlreadyStoredByAnotherInstance() {
+        storeProcessedEvent("single-1");
+
+        paymentEventService.process(payment("single-1", PaymentStatus.COMPLETED));
+
+        assertEquals(OrderStatus.PAYMENT_WAITING, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertEquals(1, processedPaymentEventRepository.count());
+    }
+
+    @Test
+    void process_appliesNewEvent_andStoresItsId() {
+        paymentEventService.process(payment("single-2", PaymentStatus.COMPLETED));
+
+        assertEquals(OrderStatus.PAYMENT_RECEIVED, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertTrue(processedPaymentEventRepository.existsById("single-2"));
+    }
+
+    @Test
+    void processBatch_recordsRoundTripForWaitingOrder() {
+        Timer roundTrip = meterRegistry.get("payment.round.trip").tag("outcome", "FAILED").timer();
+        long recorded = roundTrip.count();
+
+        paymentEventService.processBatch(List.of(payment("round-trip-1", PaymentStatus.FAILED)));
+        paymentEventService.processBatch(List.of(payment("round-trip-2", PaymentStatus.FAILED)));
+
+        assertEquals(recorded + 1, roundTrip.count());
+    }
+
+    private void storeProcessedEvent(String eventId) {
+        processedPaymentEventRepository.save(ProcessedPaymentEvent.builder()
+                .eventId(eventId)
+                .processedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private PaymentResponseDto payment(String id, PaymentStatus status) {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setId(id);
+        payment.setOrderId(orderId);
+        payment.setStatus(status);
+        return payment;
+    }
+}
@@ -0,0 +1,175 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.item.ItemRequestDto;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderResponseDto;
+import innowise.order_service.dto.order.OrderUpdateDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.entity.PaymentOutboxEvent;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.PaymentOutboxRepository;
+import innowise.order_service.service.ItemService;
+import innowise.order_service.service.OrderService;
+import innowise.order_service.service.UserCacheService;
+import innowise.order_service.service.outbox.PaymentOutboxRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "payments.outbox.enabled=true",
+        "payments.outbox.relay-interval=1h"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class PaymentOutboxIntegrationTest {
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private PaymentOutboxRelay paymentOutboxRelay;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private KafkaTemplate<String, PaymentRequestDto> kafkaOrderCreateEventTemplate;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private static final long USER_ID = 1;
+
+    private long orderId;
+
+    @BeforeEach
+    void createPaymentWaitingOrder() {
+        paymentOutboxRepository.deleteAll();
+
+        Item item = itemRepository.save(Item.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+        orderId = orderService.addOrder(OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(item.getId())
+                        .quantity(2)
+                        .build()))
+                .build(), USER_ID).getId();
+
+        orderService.updateOrder(orderId, OrderUpdateDto.builder()
+                .status(OrderStatus.PAYMENT_WAITING)
+                .build(), USER_ID);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        paymentOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void updateOrder_writesOutboxEvent_withoutSendingToKafka() {
+        List<PaymentOutboxEvent> events = paymentOutboxRepository.findAll();
+
+        assertEquals(1, events.size());
+        assertEquals(orderId, events.getFirst().getOrderId());
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(events.getFirst().getPaymentAmount()));
+        assertNull(events.getFirst().getSentAt());
+        verify(kafkaOrderCreateEventTemplate, never()).send(any(), any(), any(PaymentRequestDto.class));
+    }
+
+    @Test
+    void updateOrder_chargesPriceAtOrderTime_whenCatalogPriceChanged() {
+        Item item = itemRepository.save(Item.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+        OrderResponseDto order = orderService.addOrder(OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(item.getId())
+                        .quantity(3)
+                        .build()))
+                .build(), USER_ID);
+        itemService.updateItem(ItemRequestDto.builder()
+                .name(item.getName())
+                .price(BigDecimal.valueOf(99))
+                .build(), item.getId());
+
+        orderService.updateOrder(order.getId(), OrderUpdateDto.builder()
+                .status(OrderStatus.PAYMENT_WAITING)
+                .build(), USER_ID);
+
+        PaymentOutboxEvent event = paymentOutboxRepository.findAll().stream()
+                .filter(outboxEvent -> outboxEvent.getOrderId() == order.getId())
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(event.getPaymentAmount()));
+        assertEquals(0, BigDecimal.TEN.compareTo(orderService.getOrderById(order.getId(), USER_ID)
+                .getOrderItems().getFirst().getUnitPrice()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_publishesPendingEvents_andMarksThemSent() {
+        when(kafkaOrderCreateEventTemplate.send(eq("orders"), any(String.class), any(PaymentRequestDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        paymentOutboxRelay.relayPendingEvents();
+
+        verify(kafkaOrderCreateEventTemplate).send(eq("orders"), eq(String.valueOf(orderId)),
+                argThat((PaymentRequestDto event) -> event.getOrderId() == orderId));
+        assertNotNull(paymentOutboxRepository.findAll().getFirst().getSentAt());
+        assertEquals(0, paymentOutboxRepository.countBySentAtIsNull());
+    }
+
+    @Test
+    void relay_keepsEventPending_whenBrokerFails() {
+        when(kafkaOrderCreateEventTemplate.send(eq("orders"), any(String.class), any(PaymentRequestDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker is not available")));
+
+        paymentOutboxRelay.relayPendingEvents();
+
+        assertEquals(1, paymentOutboxRepository.countBySentAtIsNull());
+    }
+}
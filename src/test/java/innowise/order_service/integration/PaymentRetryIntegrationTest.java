@@ -0,0 +1,80 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.payment.PaymentDeadLetterDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.repository.PaymentDeadLetterRepository;
+import innowise.order_service.service.UserCacheService;
+import innowise.order_service.service.kafka.PaymentRetryPublisher;
+import innowise.order_service.service.payment.PaymentDeadLetterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "payments.consumer.mode=single",
+        "payments.retry.initial-delay=100ms",
+        "payments.retry.max-delay=500ms"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class PaymentRetryIntegrationTest {
+    @Autowired
+    private PaymentRetryPublisher paymentRetryPublisher;
+
+    @Autowired
+    private PaymentDeadLetterService paymentDeadLetterService;
+
+    @Autowired
+    private PaymentDeadLetterRepository paymentDeadLetterRepository;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    @AfterEach
+    void cleanUp() {
+        paymentDeadLetterRepository.deleteAll();
+    }
+
+    @Test
+    void parkedPaymentEventForUnknownOrder_isDeadLettered_andCanBeReplayed() {
+        long unknownOrderId = System.nanoTime();
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setId("unknown-" + unknownOrderId);
+        payment.setOrderId(unknownOrderId);
+        payment.setStatus(PaymentStatus.COMPLETED);
+
+        paymentRetryPublisher.forward(payment, new IllegalStateException("Order is not available"));
+
+        PaymentDeadLetterDto deadLetter = await().atMost(Duration.ofSeconds(90))
+                .until(() -> paymentDeadLetterService.getPendingDeadLetters(), deadLetters -> !deadLetters.isEmpty())
+                .getFirst();
+        assertEquals(String.valueOf(unknownOrderId), deadLetter.getMessageKey());
+        assertTrue(deadLetter.getPayload().contains(payment.getId()));
+        assertNotNull(deadLetter.getExceptionMessage());
+
+        assertTrue(paymentDeadLetterService.replay(deadLetter.getId()));
+
+        assertEquals(List.of(), paymentDeadLetterService.getPendingDeadLetters());
+        assertNotNull(paymentDeadLetterRepository.findById(deadLetter.getId()).orElseThrow().getReplayedAt());
+    }
+}
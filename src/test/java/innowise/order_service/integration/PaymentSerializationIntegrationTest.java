@@ -0,0 +1,91 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderUpdateDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.service.OrderService;
+import innowise.order_service.service.UserCacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "payments.serialization.topics.payments=avro")
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class PaymentSerializationIntegrationTest {
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    @Test
+    void avroPaymentEvent_isNegotiatedByHeader_andApplied() throws Exception {
+        long userId = System.nanoTime();
+        Item item = itemRepository.save(Item.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+        long orderId = orderService.addOrder(OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(item.getId())
+                        .quantity(1)
+                        .build()))
+                .build(), userId).getId();
+        orderService.updateOrder(orderId, OrderUpdateDto.builder()
+                .status(OrderStatus.PAYMENT_WAITING)
+                .build(), userId);
+
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setId("avro-" + orderId);
+        payment.setOrderId(orderId);
+        payment.setUserId(userId);
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setPaymentAmount(new BigDecimal("10.00"));
+
+        SendResult<String, Object> result = kafkaTemplate.send("payments", String.valueOf(orderId), payment).get();
+
+        assertEquals("application/avro", new String(result.getProducerRecord().headers()
+                .lastHeader(MessageHeaders.CONTENT_TYPE).value(), StandardCharsets.UTF_8));
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertEquals(OrderStatus.PAYMENT_RECEIVED,
+                orderRepository.findById(orderId).orElseThrow().getStatus()));
+    }
+}
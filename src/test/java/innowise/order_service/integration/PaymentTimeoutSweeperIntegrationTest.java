@@ -0,0 +1,125 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderUpdateDto;
+import innowise.order_service.dto.order_items.OrderItemRequestDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.service.OrderService;
+import innowise.order_service.service.UserCacheService;
+import innowise.order_service.service.payment.PaymentTimeoutSweeper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+public class PaymentTimeoutSweeperIntegrationTest {
+    @Autowired
+    private PaymentTimeoutSweeper paymentTimeoutSweeper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private long userId;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        userId = System.nanoTime();
+        item = itemRepository.save(Item.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+    }
+
+    @Test
+    void sweepTimedOutPayments_failsOnlyOrdersWaitingLongerThanTimeout() {
+        long staleOrderId = createPaymentWaitingOrder(LocalDateTime.now().minusHours(1));
+        long freshOrderId = createPaymentWaitingOrder(LocalDateTime.now());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            paymentTimeoutSweeper.sweepTimedOutPayments();
+            assertEquals(OrderStatus.PAYMENT_FAILED, orderRepository.findById(staleOrderId).orElseThrow().getStatus());
+        });
+        assertEquals(OrderStatus.PAYMENT_WAITING, orderRepository.findById(freshOrderId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void sweepTimedOutPayments_skipsWhileAnotherInstanceHoldsSweepLock() throws Exception {
+        long staleOrderId = createPaymentWaitingOrder(LocalDateTime.now().minusHours(1));
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement("select pg_advisory_xact_lock(?)")) {
+                lock.setLong(1, PaymentTimeoutSweeper.SWEEP_LOCK_KEY);
+                lock.execute();
+            }
+
+            paymentTimeoutSweeper.sweepTimedOutPayments();
+            assertEquals(OrderStatus.PAYMENT_WAITING, orderRepository.findById(staleOrderId).orElseThrow().getStatus());
+
+            connection.rollback();
+        }
+
+        paymentTimeoutSweeper.sweepTimedOutPayments();
+        assertEquals(OrderStatus.PAYMENT_FAILED, orderRepository.findById(staleOrderId).orElseThrow().getStatus());
+    }
+
+    private long createPaymentWaitingOrder(LocalDateTime statusChangedAt) {
+        long orderId = orderService.addOrder(OrderCreateDto.builder()
+                .status(OrderStatus.NEW)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(item.getId())
+                        .quantity(1)
+                        .build()))
+                .build(), userId).getId();
+        orderService.updateOrder(orderId, OrderUpdateDto.builder()
+                .status(OrderStatus.PAYMENT_WAITING)
+                .build(), userId);
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        order.setStatusChangedAt(statusChangedAt);
+        orderRepository.save(order);
+        return orderId;
+    }
+}
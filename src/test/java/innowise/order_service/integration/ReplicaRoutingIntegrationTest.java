@@ -0,0 +1,159 @@
+package innowise.order_service.integration;
+
+import innowise.order_service.config.ReadYourWritesContext;
+import innowise.order_service.config.ReplicaRoutingDataSource;
+import innowise.order_service.configuration.TestcontainersConfiguration;
+import innowise.order_service.dto.item.ItemRequestDto;
+import innowise.order_service.dto.item.ItemResponseDto;
+import innowise.order_service.service.ItemService;
+import innowise.order_service.service.UserCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ReplicaRoutingIntegrationTest {
+    private static final PostgreSQLContainer<?> replicaContainer =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private static final String REPLICA_NAME_SUFFIX = " (replica)";
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) throws Exception {
+        replicaContainer.start();
+        createReplicaSchema();
+        registry.add("datasource.routing.enabled", () -> "true");
+        registry.add("items.cache.enabled", () -> "false");
+        registry.add("datasource.routing.health-check-interval", () -> "1h");
+        registry.add("datasource.routing.replicas[0].url", replicaContainer::getJdbcUrl);
+        registry.add("datasource.routing.replicas[0].username", replicaContainer::getUsername);
+        registry.add("datasource.routing.replicas[0].password", replicaContainer::getPassword);
+    }
+
+    @AfterAll
+    static void stopReplica() {
+        replicaContainer.stop();
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyQuery_isServedByReplica() {
+        ItemResponseDto item = createItemOnPrimaryAndReplica();
+
+        ItemResponseDto foundItem = itemService.getItemById(item.getId());
+
+        assertEquals(item.getName() + REPLICA_NAME_SUFFIX, foundItem.getName());
+        Timer replicaUsage = meterRegistry.find("hikaricp.connections.usage").tag("pool", "replica-1").timer();
+        assertNotNull(replicaUsage);
+        assertTrue(replicaUsage.count() > 0);
+        assertNotNull(meterRegistry.find("db.connection.hold").timer());
+    }
+
+    @Test
+    @Order(2)
+    void readYourWrites_isServedByPrimary() throws Exception {
+        ItemResponseDto item = createItemOnPrimaryAndReplica();
+
+        ReadYourWritesContext.requirePrimary();
+        try {
+            assertEquals(item.getName(), itemService.getItemById(item.getId()).getName());
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+
+        mockMvc.perform(get("/api/item/{id}", item.getId())
+                        .header("X-Read-Your-Writes", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(item.getName()));
+        mockMvc.perform(get("/api/item/{id}", item.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(item.getName() + REPLICA_NAME_SUFFIX));
+    }
+
+    @Test
+    @Order(3)
+    void unhealthyReplica_fallsBackToPrimary() {
+        ItemResponseDto item = createItemOnPrimaryAndReplica();
+
+        replicaContainer.stop();
+        replicaRoutingDataSource.checkReplicas();
+
+        assertEquals(item.getName(), itemService.getItemById(item.getId()).getName());
+    }
+
+    private ItemResponseDto createItemOnPrimaryAndReplica() {
+        ItemResponseDto item = itemService.createItem(ItemRequestDto.builder()
+                .name("Item " + UUID.randomUUID())
+                .price(BigDecimal.TEN)
+                .build());
+        new JdbcTemplate(replicaDataSource()).update("insert into items (id, name, price) values (?, ?, ?)",
+                item.getId(), item.getName() + REPLICA_NAME_SUFFIX, item.getPrice());
+        return item;
+    }
+
+    private static void createReplicaSchema() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(replicaDataSource());
+        liquibase.setChangeLog("classpath:/db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    private static DriverManagerDataSource replicaDataSource() {
+        return new DriverManagerDataSource(replicaContainer.getJdbcUrl(), replicaContainer.getUsername(),
+                replicaContainer.getPassword());
+    }
+}
@@ -1,9 +1,15 @@
 package innowise.order_service.unit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.config.ReadYourWritesContext;
+import innowise.order_service.config.ReadYourWritesInterceptor;
 import innowise.order_service.controller.ExceptionController;
 import innowise.order_service.controller.OrderController;
+import innowise.order_service.dto.order.OrderBulkCreateDto;
+import innowise.order_service.dto.order.OrderBulkResponseDto;
+import innowise.order_service.dto.order.OrderBulkResultDto;
 import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderPageDto;
 import innowise.order_service.dto.order.OrderResponseDto;
 import innowise.order_service.dto.order.OrderUpdateDto;
 import innowise.order_service.dto.order_items.OrderItemRequestDto;
@@ -12,33 +18,44 @@ import innowise.order_service.dto.user.UserResponseDto;
 import innowise.order_service.entity.OrderStatus;
 import innowise.order_service.exception.item.ItemNotFoundException;
 import innowise.order_service.exception.order.OrderNotFoundException;
+import innowise.order_service.service.OrderBulkService;
 import innowise.order_service.service.OrderService;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = {
@@ -53,6 +70,9 @@ public class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderBulkService orderBulkService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -64,6 +84,15 @@ public class OrderControllerTest {
     private static final OrderStatus ORDER_STATUS = OrderStatus.NEW;
     private static final long USER_ID = 1;
     private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    @TestConfiguration
+    static class ReadYourWritesConfig implements WebMvcConfigurer {
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(READ_YOUR_WRITES_HEADER));
+        }
+    }
 
     @BeforeAll
     static void setup() {
@@ -136,6 +165,42 @@ public class OrderControllerTest {
         verify(orderService, never()).addOrder(any(OrderCreateDto.class), eq(USER_ID));
     }
 
+    @Test
+    void testCreateOrders_whenSomeOrdersFail_shouldReturn207() throws Exception {
+        when(orderBulkService.addOrders(any(OrderBulkCreateDto.class), eq(USER_ID)))
+                .thenReturn(OrderBulkResponseDto.builder()
+                        .created(1)
+                        .failed(1)
+                        .results(List.of(
+                                OrderBulkResultDto.builder().index(0).order(orderResponseDto).build(),
+                                OrderBulkResultDto.builder().index(1).error("Items with ids [3] were not found").build()))
+                        .build());
+
+        mockMvc.perform(post("/api/order/bulk")
+                        .header(USER_ID_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OrderBulkCreateDto.builder()
+                                .orders(List.of(orderCreateDto, orderCreateDto))
+                                .build())))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].order.id").value(ORDER_ID))
+                .andExpect(jsonPath("$.results[1].error").value("Items with ids [3] were not found"));
+    }
+
+    @Test
+    void testCreateOrders_whenOrdersAreEmpty_shouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/order/bulk")
+                        .header(USER_ID_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OrderBulkCreateDto.builder()
+                                .orders(List.of())
+                                .build())))
+                .andExpect(status().isBadRequest());
+
+        verify(orderBulkService, never()).addOrders(any(), any());
+    }
+
     @Test
     void testGetItem_whenExists_shouldReturn200() throws Exception {
         when(orderService.getOrderById(ORDER_ID, USER_ID)).thenReturn(orderResponseDto);
@@ -183,6 +248,21 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.[0].id").value(orderResponseDto.getId()));
     }
 
+    @Test
+    void testGetOrdersPageByStatus_whenExists_shouldReturn200() throws Exception {
+        when(orderService.getOrdersPageByStatus("NEW", USER_ID, 0L, 20))
+                .thenReturn(OrderPageDto.builder()
+                        .orders(List.of(orderResponseDto))
+                        .nextCursor(ORDER_ID)
+                        .build());
+
+        mockMvc.perform(get("/api/order/status/{status}/page", OrderStatus.NEW.toString())
+                        .header(USER_ID_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].id").value(orderResponseDto.getId()))
+                .andExpect(jsonPath("$.nextCursor").value(ORDER_ID));
+    }
+
     @Test
     void testUpdateItem_whenValid_shouldReturn200() throws Exception {
         when(orderService.updateOrder(ORDER_ID, orderUpdateDto, USER_ID))
@@ -254,4 +334,28 @@ public class OrderControllerTest {
         mockMvc.perform(delete("/api/order/{id}", ORDER_ID))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void streamOrdersByStatus_WithReadYourWritesHeader_ShouldRequirePrimaryOnStreamThreadOnly() throws Exception {
+        AtomicBoolean primaryRequiredInStream = new AtomicBoolean();
+        doAnswer(invocation -> {
+            primaryRequiredInStream.set(ReadYourWritesContext.isPrimaryRequired());
+            return null;
+        }).when(orderService).streamOrdersByStatus(eq(ORDER_STATUS), anyLong(), any());
+        when(orderService.parseOrderStatus("new")).thenReturn(ORDER_STATUS);
+
+        MvcResult result = mockMvc.perform(get("/api/order/status/new/stream")
+                        .header(USER_ID_HEADER, USER_ID)
+                        .header(READ_YOUR_WRITES_HEADER, "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(ReadYourWritesContext.isPrimaryRequired()).isFalse();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertThat(primaryRequiredInStream).isTrue();
+        assertThat(ReadYourWritesContext.isPrimaryRequired()).isFalse();
+    }
 }
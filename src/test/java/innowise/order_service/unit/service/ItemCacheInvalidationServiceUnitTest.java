@@ -0,0 +1,77 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.ItemCacheConfig;
+import innowise.order_service.config.ItemCacheProperties;
+import innowise.order_service.entity.Item;
+import innowise.order_service.service.ItemCacheInvalidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCacheInvalidationServiceUnitTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache entityCache;
+
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
+    private ItemCacheInvalidationService itemCacheInvalidationService;
+
+    private static final long ITEM_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(entityCache);
+        lenient().when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getCache()).thenReturn(hibernateCache);
+        itemCacheInvalidationService = new ItemCacheInvalidationService(
+                entityManagerFactory, new ItemCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void evict_WhenVersionIsNewer_ShouldEvictItemAndQueryRegion() {
+        assertThat(itemCacheInvalidationService.evict(ITEM_ID, 1)).isTrue();
+        assertThat(itemCacheInvalidationService.evict(ITEM_ID, 2)).isTrue();
+
+        verify(entityCache, times(2)).evict(Item.class, ITEM_ID);
+        verify(hibernateCache, times(2)).evictQueryRegion(ItemCacheConfig.ITEM_QUERY_REGION);
+    }
+
+    @Test
+    void evict_WhenOlderVersionArrivesLate_ShouldIgnoreIt() {
+        assertThat(itemCacheInvalidationService.evict(ITEM_ID, 3)).isTrue();
+
+        assertThat(itemCacheInvalidationService.evict(ITEM_ID, 2)).isFalse();
+
+        verify(entityCache, times(1)).evict(Item.class, ITEM_ID);
+        verify(hibernateCache, times(1)).evictQueryRegion(ItemCacheConfig.ITEM_QUERY_REGION);
+    }
+
+    @Test
+    void isStale_WhenNewerVersionWasAnnounced_ShouldReturnTrue() {
+        itemCacheInvalidationService.evict(ITEM_ID, 2);
+
+        assertThat(itemCacheInvalidationService.isStale(Item.builder().id(ITEM_ID).version(1).build())).isTrue();
+        assertThat(itemCacheInvalidationService.isStale(Item.builder().id(ITEM_ID).version(2).build())).isFalse();
+        assertThat(itemCacheInvalidationService.isStale(Item.builder().id(ITEM_ID + 1).version(0).build())).isFalse();
+    }
+}
@@ -1,5 +1,6 @@
 package innowise.order_service.unit.service;
 
+import innowise.order_service.dto.item.ItemChangedEventDto;
 import innowise.order_service.dto.item.ItemRequestDto;
 import innowise.order_service.dto.item.ItemResponseDto;
 import innowise.order_service.entity.Item;
@@ -14,6 +15,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.math.BigDecimal;
@@ -30,6 +33,7 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @SpringBootTest(classes = {ItemMapperImpl.class, ItemService.class})
+@RecordApplicationEvents
 class ItemServiceUnitTest {
 
     @MockitoBean
@@ -38,6 +42,9 @@ class ItemServiceUnitTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     private static ItemRequestDto itemRequestDto;
     private static ItemResponseDto itemResponseDto;
     private static Item item;
@@ -121,6 +128,20 @@ class ItemServiceUnitTest {
         verify(itemRepository, never()).existsByName(any());
     }
 
+    @Test
+    void updateItem_ShouldFlushAndPublishItemChangedEventWithNewVersion() {
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
+
+        itemService.updateItem(itemRequestDto, ITEM_ID);
+
+        verify(itemRepository).flush();
+        assertThat(applicationEvents.stream(ItemChangedEventDto.class)).containsExactly(ItemChangedEventDto.builder()
+                .eventType(ItemChangedEventDto.ITEM_UPDATED)
+                .itemId(ITEM_ID)
+                .version(item.getVersion())
+                .build());
+    }
+
     @Test
     void updateItem_WhenValidRequestDifferentName_ShouldUpdateItem() {
         String newItemName = "Updated Item Name";
@@ -0,0 +1,91 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.PaymentProducerProperties;
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.service.kafka.KafkaProducerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaProducerServiceUnitTest {
+    @Mock
+    private KafkaTemplate<String, PaymentRequestDto> kafkaTemplate;
+
+    private PaymentProducerProperties paymentProducerProperties;
+    private MeterRegistry meterRegistry;
+    private KafkaProducerService kafkaProducerService;
+
+    private static final PaymentRequestDto PAYMENT_REQUEST = PaymentRequestDto.builder()
+            .eventType("CREATE_ORDER")
+            .orderId(42L)
+            .userId(1L)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        paymentProducerProperties = new PaymentProducerProperties();
+        paymentProducerProperties.setKeyed(true);
+        paymentProducerProperties.setMaxInFlight(1);
+        paymentProducerProperties.setSendTimeout(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        kafkaProducerService = new KafkaProducerService(kafkaTemplate, paymentProducerProperties, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_WhenKeyed_ShouldUseOrderIdAsKeyAndRecordSuccess() {
+        when(kafkaTemplate.send(eq("orders"), eq("42"), any(PaymentRequestDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        kafkaProducerService.send(PAYMENT_REQUEST).join();
+
+        verify(kafkaTemplate).send("orders", "42", PAYMENT_REQUEST);
+        assertThat(meterRegistry.get("kafka.producer.send").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void send_WhenBrokerFails_ShouldRecordErrorAndReleaseSlot() {
+        when(kafkaTemplate.send(eq("orders"), eq("42"), any(PaymentRequestDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("Broker is not available")));
+
+        assertThat(kafkaProducerService.send(PAYMENT_REQUEST)).isCompletedExceptionally();
+        assertThat(kafkaProducerService.send(PAYMENT_REQUEST)).isCompletedExceptionally();
+
+        assertThat(meterRegistry.get("kafka.producer.send")
+                .tags("outcome", "error", "exception", "KafkaException").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void send_WhenTooManySendsInFlight_ShouldRejectSend() {
+        when(kafkaTemplate.send(eq("orders"), eq("42"), any(PaymentRequestDto.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        kafkaProducerService.send(PAYMENT_REQUEST);
+
+        assertThatThrownBy(() -> kafkaProducerService.send(PAYMENT_REQUEST))
+                .isInstanceOf(KafkaException.class)
+                .hasMessageContaining("Too many in-flight sends");
+        assertThat(meterRegistry.get("kafka.producer.sends.in.flight").gauge().value()).isEqualTo(1);
+    }
+}
@@ -1,6 +1,11 @@
 package innowise.order_service.unit.service;
 
+import innowise.order_service.config.AsyncConfig;
+import innowise.order_service.config.OrderReadProperties;
+import innowise.order_service.config.PaymentOutboxProperties;
+import innowise.order_service.config.UserServiceProperties;
 import innowise.order_service.dto.order.OrderCreateDto;
+import innowise.order_service.dto.order.OrderPageDto;
 import innowise.order_service.dto.order.OrderResponseDto;
 import innowise.order_service.dto.order.OrderUpdateDto;
 import innowise.order_service.dto.order_items.OrderItemRequestDto;
@@ -15,41 +20,63 @@ import innowise.order_service.exception.order.IllegalStatusChangeException;
 import innowise.order_service.exception.order.OrderNotFoundException;
 import innowise.order_service.exception.security.OrderAccessDeniedException;
 import innowise.order_service.mapper.OrderItemsMapperImpl;
+import innowise.order_service.mapper.OrderLineProjectionMapper;
 import innowise.order_service.mapper.OrderMapperImpl;
 import innowise.order_service.repository.ItemRepository;
 import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.projection.OrderLineProjection;
+import innowise.order_service.service.ItemCacheInvalidationService;
 import innowise.order_service.service.OrderService;
-import innowise.order_service.service.UserServiceClient;
+import innowise.order_service.service.UserCacheService;
+import innowise.order_service.service.UserEnrichmentService;
 import innowise.order_service.service.kafka.KafkaProducerService;
+import innowise.order_service.service.outbox.PaymentOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
-@SpringBootTest(classes = {OrderMapperImpl.class, OrderItemsMapperImpl.class, OrderService.class})
+@SpringBootTest(classes = {OrderMapperImpl.class, OrderItemsMapperImpl.class, OrderService.class,
+        UserEnrichmentService.class, UserServiceProperties.class, AsyncConfig.class,
+        OrderLineProjectionMapper.class, OrderReadProperties.class, PaymentOutboxProperties.class,
+        SimpleMeterRegistry.class})
 class OrderServiceUnitTest {
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
 
     @MockitoBean
     private OrderRepository orderRepository;
@@ -58,14 +85,32 @@ class OrderServiceUnitTest {
     private ItemRepository itemRepository;
 
     @MockitoBean
-    private UserServiceClient userServiceClient;
+    private UserCacheService userCacheService;
 
     @MockitoBean
     private KafkaProducerService kafkaProducerService;
 
+    @MockitoBean
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private PaymentOutboxService paymentOutboxService;
+
+    @MockitoBean
+    private ItemCacheInvalidationService itemCacheInvalidationService;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private UserServiceProperties userServiceProperties;
+
+    @Autowired
+    private OrderReadProperties orderReadProperties;
+
+    @Autowired
+    private PaymentOutboxProperties paymentOutboxProperties;
+
     private static OrderCreateDto orderCreateDto;
     private static OrderUpdateDto orderUpdateDto;
     private static Order order;
@@ -119,12 +164,16 @@ class OrderServiceUnitTest {
                 OrderItem.builder()
                         .id(1)
                         .quantity(2)
+                        .unitPrice(item1.getPrice())
+                        .itemName(item1.getName())
                         .order(order)
                         .item(item1)
                         .build(),
                 OrderItem.builder()
                         .id(2)
                         .quantity(2)
+                        .unitPrice(item2.getPrice())
+                        .itemName(item2.getName())
                         .order(order)
                         .item(item2)
                         .build()
@@ -140,6 +189,10 @@ class OrderServiceUnitTest {
 
     @BeforeEach
     void setUp() {
+        userServiceProperties.getEnrichment().setAsync(false);
+        orderReadProperties.setProjection(false);
+        orderReadProperties.setStreamMaxOrders(10000);
+        paymentOutboxProperties.setEnabled(false);
         orderUpdateDto = OrderUpdateDto.builder()
                 .status(OrderStatus.CANCELLED)
                 .build();
@@ -150,7 +203,7 @@ class OrderServiceUnitTest {
         when(itemRepository.findItemsByIdIn(Set.of(ITEM_ID_1, ITEM_ID_2)))
                 .thenReturn(Arrays.asList(item1, item2));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(userServiceClient.getUserById(USER_ID)).thenReturn(userResponseDto);
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
 
         OrderResponseDto result = orderService.addOrder(orderCreateDto, USER_ID);
 
@@ -159,7 +212,21 @@ class OrderServiceUnitTest {
         assertEquals(userResponseDto, result.getUser());
         verify(itemRepository).findItemsByIdIn(Set.of(ITEM_ID_1, ITEM_ID_2));
         verify(orderRepository).save(any(Order.class));
-        verify(userServiceClient).getUserById(USER_ID);
+        verify(userCacheService).getUserById(USER_ID);
+    }
+
+    @Test
+    void addOrder_WhenCachedItemIsStale_ShouldRefreshItBeforeSnapshottingPrice() {
+        when(itemRepository.findItemsByIdIn(Set.of(ITEM_ID_1, ITEM_ID_2)))
+                .thenReturn(Arrays.asList(item1, item2));
+        when(itemCacheInvalidationService.isStale(item2)).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        orderService.addOrder(orderCreateDto, USER_ID);
+
+        verify(entityManager).refresh(item2);
+        verify(entityManager, never()).refresh(item1);
     }
 
     @Test
@@ -177,29 +244,62 @@ class OrderServiceUnitTest {
 
     @Test
     void getOrderById_WhenOrderExists_ShouldReturnOrder() {
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
-        when(userServiceClient.getUserById(USER_ID)).thenReturn(userResponseDto);
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
 
         OrderResponseDto result = orderService.getOrderById(ORDER_ID, USER_ID);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(ORDER_ID);
         assertThat(result.getOrderItems().getFirst().getName())
-                .isEqualTo(order.getOrderItems().getFirst().getItem().getName());
-        verify(orderRepository).findById(ORDER_ID);
-        verify(userServiceClient).getUserById(USER_ID);
+                .isEqualTo(order.getOrderItems().getFirst().getItemName());
+        verify(orderRepository).findWithItemsById(ORDER_ID);
+        verify(userCacheService).getUserById(USER_ID);
+    }
+
+    @Test
+    void getOrderById_WhenAsyncEnrichmentEnabled_ShouldReturnOrderWithUser() {
+        userServiceProperties.getEnrichment().setAsync(true);
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        OrderResponseDto result = orderService.getOrderById(ORDER_ID, USER_ID);
+
+        assertThat(result.getId()).isEqualTo(ORDER_ID);
+        assertThat(result.getUser()).isEqualTo(userResponseDto);
+        verify(userCacheService).getUserById(USER_ID);
+    }
+
+    @Test
+    void getOrderById_WhenAsyncEnrichmentTimesOut_ShouldReturnOrderWithoutUser() {
+        userServiceProperties.getEnrichment().setAsync(true);
+        userServiceProperties.getEnrichment().setTimeout(Duration.ofMillis(50));
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(userCacheService.getUserById(USER_ID)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return userResponseDto;
+        });
+
+        try {
+            OrderResponseDto result = orderService.getOrderById(ORDER_ID, USER_ID);
+
+            assertThat(result.getId()).isEqualTo(ORDER_ID);
+            assertThat(result.getUser()).isNull();
+        } finally {
+            userServiceProperties.getEnrichment().setTimeout(Duration.ofMillis(500));
+        }
     }
 
     @Test
     void getOrderById_WhenOrderNotFound_ShouldThrowOrderNotFoundException() {
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrderById(ORDER_ID, USER_ID))
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessage("Order with id " + ORDER_ID + " was not found");
 
-        verify(orderRepository).findById(ORDER_ID);
-        verify(userServiceClient, never()).getUserById(any());
+        verify(orderRepository).findWithItemsById(ORDER_ID);
+        verify(userCacheService, never()).getUserById(any());
     }
 
     @Test
@@ -211,13 +311,13 @@ class OrderServiceUnitTest {
                 .status(OrderStatus.PROCESSING)
                 .build();
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(orderWithDifferentUser));
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(orderWithDifferentUser));
 
         assertThatThrownBy(() -> orderService.getOrderById(ORDER_ID, USER_ID))
                 .isInstanceOf(OrderAccessDeniedException.class)
                 .hasMessage("You are only allowed to access your own orders");
 
-        verify(orderRepository).findById(ORDER_ID);
+        verify(orderRepository).findWithItemsById(ORDER_ID);
     }
 
     @Test
@@ -229,44 +329,44 @@ class OrderServiceUnitTest {
                 .status(OrderStatus.PROCESSING)
                 .build();
 
-        when(orderRepository.findOrdersByIdIn(orderIds)).thenReturn(Arrays.asList(order, order2));
-        when(userServiceClient.getUserById(USER_ID)).thenReturn(userResponseDto);
+        when(orderRepository.findOrdersWithItemsByIdIn(orderIds)).thenReturn(Arrays.asList(order, order2));
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
 
         List<OrderResponseDto> result = orderService.getOrdersByIds(orderIds, USER_ID);
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(ORDER_ID);
         assertThat(result.get(1).getId()).isEqualTo(2L);
-        verify(orderRepository).findOrdersByIdIn(orderIds);
-        verify(userServiceClient).getUserById(USER_ID);
+        verify(orderRepository).findOrdersWithItemsByIdIn(orderIds);
+        verify(userCacheService).getUserById(USER_ID);
     }
 
     @Test
     void getOrdersByIds_WhenOrdersNotFound_ShouldThrowOrderNotFoundException() {
         List<Long> orderIds = Arrays.asList(ORDER_ID, 2L);
-        when(orderRepository.findOrdersByIdIn(orderIds)).thenReturn(List.of());
+        when(orderRepository.findOrdersWithItemsByIdIn(orderIds)).thenReturn(List.of());
 
         assertThatThrownBy(() -> orderService.getOrdersByIds(orderIds, USER_ID))
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessageContaining("None of the orders with ids");
 
-        verify(orderRepository).findOrdersByIdIn(orderIds);
+        verify(orderRepository).findOrdersWithItemsByIdIn(orderIds);
     }
 
     @Test
     void getOrdersByStatus_WhenValidStatus_ShouldReturnOrders() {
         String status = "NEW";
-        when(orderRepository.findOrdersByStatusAndUserId(OrderStatus.NEW, USER_ID))
+        when(orderRepository.findOrdersWithItemsByStatusAndUserId(OrderStatus.NEW, USER_ID))
                 .thenReturn(Collections.singletonList(order));
-        when(userServiceClient.getUserById(USER_ID)).thenReturn(userResponseDto);
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
 
         List<OrderResponseDto> result = orderService.getOrdersByStatus(status, USER_ID);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(ORDER_ID);
         assertThat(result.getFirst().getStatus()).isEqualTo(OrderStatus.NEW);
-        verify(orderRepository).findOrdersByStatusAndUserId(OrderStatus.NEW, USER_ID);
-        verify(userServiceClient).getUserById(USER_ID);
+        verify(orderRepository).findOrdersWithItemsByStatusAndUserId(OrderStatus.NEW, USER_ID);
+        verify(userCacheService).getUserById(USER_ID);
     }
 
     @Test
@@ -277,20 +377,131 @@ class OrderServiceUnitTest {
                 .isInstanceOf(IllegalOrderStatusException.class)
                 .hasMessageContaining("Illegal order status INVALID_STATUS");
 
-        verify(orderRepository, never()).findOrdersByStatusAndUserId(any(OrderStatus.class), any(Long.class));
+        verify(orderRepository, never()).findOrdersWithItemsByStatusAndUserId(any(OrderStatus.class), any(Long.class));
     }
 
     @Test
     void getOrdersByStatus_WhenNoOrdersFound_ShouldThrowOrderNotFoundException() {
         String status = "PROCESSING";
-        when(orderRepository.findOrdersByStatusAndUserId(OrderStatus.PROCESSING, USER_ID))
+        when(orderRepository.findOrdersWithItemsByStatusAndUserId(OrderStatus.PROCESSING, USER_ID))
                 .thenReturn(List.of());
 
         assertThatThrownBy(() -> orderService.getOrdersByStatus(status, USER_ID))
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessageContaining("None of the orders with status PROCESSING were found");
 
-        verify(orderRepository).findOrdersByStatusAndUserId(OrderStatus.PROCESSING, USER_ID);
+        verify(orderRepository).findOrdersWithItemsByStatusAndUserId(OrderStatus.PROCESSING, USER_ID);
+    }
+
+    @Test
+    void getOrdersPageByStatus_WhenPageIsFull_ShouldReturnNextCursor() {
+        when(orderRepository.findOrderIdsPage(OrderStatus.NEW, USER_ID, 0L, Limit.of(1)))
+                .thenReturn(List.of(ORDER_ID));
+        when(orderRepository.findOrdersWithItemsByIdInOrderByIdAsc(List.of(ORDER_ID)))
+                .thenReturn(List.of(order));
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        OrderPageDto result = orderService.getOrdersPageByStatus("NEW", USER_ID, 0L, 1);
+
+        assertThat(result.getOrders()).hasSize(1);
+        assertThat(result.getNextCursor()).isEqualTo(ORDER_ID);
+    }
+
+    @Test
+    void getOrdersPageByStatus_WhenLastPage_ShouldReturnNoCursor() {
+        when(orderRepository.findOrderIdsPage(OrderStatus.NEW, USER_ID, ORDER_ID, Limit.of(20)))
+                .thenReturn(List.of());
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        OrderPageDto result = orderService.getOrdersPageByStatus("NEW", USER_ID, ORDER_ID, 20);
+
+        assertThat(result.getOrders()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+        verify(orderRepository, never()).findOrdersWithItemsByIdInOrderByIdAsc(any());
+    }
+
+    @Test
+    void streamOrdersByStatus_ShouldPassEveryOrderToConsumer() {
+        when(orderRepository.streamOrdersByStatusAndUserIdOrderByIdAsc(OrderStatus.NEW, USER_ID))
+                .thenReturn(Stream.of(order));
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        List<OrderResponseDto> streamed = new ArrayList<>();
+        orderService.streamOrdersByStatus(OrderStatus.NEW, USER_ID, streamed::add);
+
+        assertThat(streamed).hasSize(1);
+        assertThat(streamed.getFirst().getId()).isEqualTo(ORDER_ID);
+        verify(entityManager).detach(order);
+    }
+
+    @Test
+    void getOrdersByStatus_WhenProjectionEnabled_ShouldGroupLinesByOrder() {
+        orderReadProperties.setProjection(true);
+        when(orderRepository.findOrderLinesByStatusAndUserId(OrderStatus.NEW, USER_ID)).thenReturn(List.of(
+                orderLine(ORDER_ID, 1L, item1),
+                orderLine(ORDER_ID, 2L, item2),
+                orderLine(ORDER_ID + 1, 3L, item1)));
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        List<OrderResponseDto> result = orderService.getOrdersByStatus("NEW", USER_ID);
+
+        assertThat(result).extracting(OrderResponseDto::getId).containsExactly(ORDER_ID, ORDER_ID + 1);
+        assertThat(result.getFirst().getOrderItems()).hasSize(2);
+        assertThat(result.getFirst().getOrderItems().get(1).getName()).isEqualTo(item2.getName());
+        assertThat(result.getLast().getOrderItems()).hasSize(1);
+        assertThat(result).allMatch(order -> order.getUser() == userResponseDto);
+        verify(orderRepository, never()).findOrdersWithItemsByStatusAndUserId(any(), any(Long.class));
+    }
+
+    @Test
+    void getOrderById_WhenProjectionEnabledAndUserNotOwner_ShouldThrowOrderAccessDeniedException() {
+        orderReadProperties.setProjection(true);
+        when(orderRepository.findOrderLinesById(ORDER_ID)).thenReturn(List.of(new OrderLineProjection(
+                ORDER_ID, 999L, OrderStatus.NEW, LocalDateTime.now(), null, null, null, null, null)));
+
+        assertThatThrownBy(() -> orderService.getOrderById(ORDER_ID, USER_ID))
+                .isInstanceOf(OrderAccessDeniedException.class);
+    }
+
+    @Test
+    void streamOrdersByStatus_WhenProjectionEnabled_ShouldEmitEachOrderOnce() {
+        orderReadProperties.setProjection(true);
+        when(orderRepository.streamOrderLinesByStatusAndUserId(OrderStatus.NEW, USER_ID)).thenReturn(Stream.of(
+                orderLine(ORDER_ID, 1L, item1),
+                orderLine(ORDER_ID, 2L, item2),
+                orderLine(ORDER_ID + 1, 3L, item1)));
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        List<OrderResponseDto> streamed = new ArrayList<>();
+        orderService.streamOrdersByStatus(OrderStatus.NEW, USER_ID, streamed::add);
+
+        assertThat(streamed).extracting(OrderResponseDto::getId).containsExactly(ORDER_ID, ORDER_ID + 1);
+        assertThat(streamed.getFirst().getOrderItems()).hasSize(2);
+        verify(entityManager, never()).detach(any());
+    }
+
+    @Test
+    void streamOrdersByStatus_WhenMaxOrdersReached_ShouldStopReadingLines() {
+        orderReadProperties.setProjection(true);
+        orderReadProperties.setStreamMaxOrders(1);
+        Stream<OrderLineProjection> lines = Stream.of(
+                        orderLine(ORDER_ID, 1L, item1),
+                        orderLine(ORDER_ID + 1, 2L, item1),
+                        orderLine(ORDER_ID + 2, 3L, item1))
+                .peek(line -> assertThat(line.orderId()).isLessThanOrEqualTo(ORDER_ID + 1));
+        when(orderRepository.streamOrderLinesByStatusAndUserId(OrderStatus.NEW, USER_ID)).thenReturn(lines);
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        List<OrderResponseDto> streamed = new ArrayList<>();
+        orderService.streamOrdersByStatus(OrderStatus.NEW, USER_ID, streamed::add);
+
+        assertThat(streamed).extracting(OrderResponseDto::getId).containsExactly(ORDER_ID);
+        assertThat(streamed.getFirst().getUser()).isEqualTo(userResponseDto);
+    }
+
+    private static OrderLineProjection orderLine(long orderId, long orderItemId, Item item) {
+        return new OrderLineProjection(orderId, USER_ID, OrderStatus.NEW, LocalDateTime.now(),
+                orderItemId, 1, item.getPrice(), item.getId(), item.getName());
     }
 
     @Test
@@ -301,23 +512,75 @@ class OrderServiceUnitTest {
                 .status(OrderStatus.PAYMENT_WAITING)
                 .build();
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
-        when(userServiceClient.getUserById(USER_ID)).thenReturn(userResponseDto);
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
 
         OrderResponseDto result = orderService.updateOrder(ORDER_ID, orderUpdateDto, USER_ID);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(ORDER_ID);
         assertThat(result.getStatus()).isEqualTo(OrderStatus.PAYMENT_WAITING);
-        verify(orderRepository).findById(ORDER_ID);
+        verify(orderRepository).findWithItemsById(ORDER_ID);
         verify(orderRepository).save(any(Order.class));
-        verify(userServiceClient).getUserById(USER_ID);
+        verify(userCacheService).getUserById(USER_ID);
+    }
+
+    @Test
+    void updateOrder_WhenOutboxEnabled_ShouldEnqueuePaymentEventInsteadOfSending() {
+        paymentOutboxProperties.setEnabled(true);
+        orderUpdateDto.setStatus(OrderStatus.PAYMENT_WAITING);
+        Order newOrder = Order.builder()
+                .id(ORDER_ID)
+                .userId(USER_ID)
+                .status(OrderStatus.NEW)
+                .build();
+        Order updatedOrder = Order.builder()
+                .id(ORDER_ID)
+                .userId(USER_ID)
+                .status(OrderStatus.PAYMENT_WAITING)
+                .build();
+
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(newOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        orderService.updateOrder(ORDER_ID, orderUpdateDto, USER_ID);
+
+        verify(paymentOutboxService).enqueueCreatePaymentEvent(updatedOrder);
+        verify(kafkaProducerService, never()).sendCreatePaymentEvent(any());
+    }
+
+    @Test
+    void updateOrder_ShouldCallUserServiceAndKafkaAfterCommit() {
+        orderUpdateDto.setStatus(OrderStatus.PAYMENT_WAITING);
+        Order newOrder = Order.builder()
+                .id(ORDER_ID)
+                .userId(USER_ID)
+                .status(OrderStatus.NEW)
+                .build();
+        Order updatedOrder = Order.builder()
+                .id(ORDER_ID)
+                .userId(USER_ID)
+                .status(OrderStatus.PAYMENT_WAITING)
+                .build();
+
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(newOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
+        when(userCacheService.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        orderService.updateOrder(ORDER_ID, orderUpdateDto, USER_ID);
+
+        InOrder inOrder = inOrder(orderRepository, transactionManager, userCacheService, kafkaProducerService);
+        inOrder.verify(orderRepository).save(any(Order.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(userCacheService).getUserById(USER_ID);
+        inOrder.verify(kafkaProducerService).sendCreatePaymentEvent(updatedOrder);
     }
 
     @Test
     void testUpdateOrderStatus_NotAllowsWrongStatusChange() {
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(order));
 
         orderUpdateDto.setStatus(OrderStatus.PAYMENT_FAILED);
         assertThrows(IllegalStatusChangeException.class, () -> {
@@ -327,16 +590,51 @@ class OrderServiceUnitTest {
 
     @Test
     void updateOrder_WhenOrderNotFound_ShouldThrowOrderNotFoundException() {
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.updateOrder(ORDER_ID, orderUpdateDto, USER_ID))
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessage("Order with id " + ORDER_ID + " was not found");
 
-        verify(orderRepository).findById(ORDER_ID);
+        verify(orderRepository).findWithItemsById(ORDER_ID);
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void applyPaymentStatuses_ShouldRunOneBulkUpdatePerStatus() {
+        Map<Long, OrderStatus> orderStatuses = new LinkedHashMap<>();
+        orderStatuses.put(1L, OrderStatus.PAYMENT_RECEIVED);
+        orderStatuses.put(2L, OrderStatus.PAYMENT_FAILED);
+        orderStatuses.put(3L, OrderStatus.PAYMENT_RECEIVED);
+        when(orderRepository.updatePaymentWaitingStatusByIdIn(any(), any(), any())).thenReturn(1);
+
+        orderService.applyPaymentStatuses(orderStatuses);
+
+        verify(orderRepository).updatePaymentWaitingStatusByIdIn(eq(OrderStatus.PAYMENT_RECEIVED), eq(List.of(1L, 3L)),
+                any());
+        verify(orderRepository).updatePaymentWaitingStatusByIdIn(eq(OrderStatus.PAYMENT_FAILED), eq(List.of(2L)), any());
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void applyPaymentStatus_WhenOrderNoLongerWaitsForPayment_ShouldSkipUpdate() {
+        when(orderRepository.updatePaymentWaitingStatusByIdIn(eq(OrderStatus.PAYMENT_FAILED), eq(List.of(ORDER_ID)),
+                any())).thenReturn(0);
+        when(orderRepository.existsById(ORDER_ID)).thenReturn(true);
+
+        assertThat(orderService.applyPaymentStatus(ORDER_ID, OrderStatus.PAYMENT_FAILED)).isFalse();
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void applyPaymentStatus_WhenOrderNotFound_ShouldThrowOrderNotFoundException() {
+        when(orderRepository.updatePaymentWaitingStatusByIdIn(any(), any(), any())).thenReturn(0);
+        when(orderRepository.existsById(ORDER_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.applyPaymentStatus(ORDER_ID, OrderStatus.PAYMENT_RECEIVED))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
     @Test
     void updateOrder_WhenUserNotOwner_ShouldThrowOrderAccessDeniedException() {
         long differentUserId = 999L;
@@ -346,13 +644,13 @@ class OrderServiceUnitTest {
                 .status(OrderStatus.PROCESSING)
                 .build();
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(orderWithDifferentUser));
+        when(orderRepository.findWithItemsById(ORDER_ID)).thenReturn(Optional.of(orderWithDifferentUser));
 
         assertThatThrownBy(() -> orderService.updateOrder(ORDER_ID, orderUpdateDto, USER_ID))
                 .isInstanceOf(OrderAccessDeniedException.class)
                 .hasMessage("You are only allowed to access your own orders");
 
-        verify(orderRepository).findById(ORDER_ID);
+        verify(orderRepository).findWithItemsById(ORDER_ID);
         verify(orderRepository, never()).save(any());
     }
 
@@ -0,0 +1,83 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.service.kafka.PaymentAvroCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentAvroCodecUnitTest {
+    private final PaymentAvroCodec paymentAvroCodec = new PaymentAvroCodec();
+
+    @Test
+    void encodeRequest_ShouldRoundTrip() {
+        PaymentRequestDto payment = PaymentRequestDto.builder()
+                .eventType("CREATE_PAYMENT")
+                .orderId(42L)
+                .userId(7L)
+                .paymentAmount(new BigDecimal("199.90"))
+                .build();
+
+        assertThat(paymentAvroCodec.decodeRequest(paymentAvroCodec.encode(payment))).isEqualTo(payment);
+    }
+
+    @Test
+    void encodeRequest_ShouldNormalizeAmountScale() {
+        PaymentRequestDto payment = PaymentRequestDto.builder()
+                .eventType("CREATE_PAYMENT")
+                .orderId(42L)
+                .userId(7L)
+                .paymentAmount(BigDecimal.valueOf(20))
+                .build();
+
+        assertThat(paymentAvroCodec.decodeRequest(paymentAvroCodec.encode(payment)).getPaymentAmount())
+                .isEqualTo(new BigDecimal("20.00"));
+    }
+
+    @Test
+    void encodeRequest_WhenAmountWouldBeRounded_ShouldFail() {
+        PaymentRequestDto payment = PaymentRequestDto.builder()
+                .eventType("CREATE_PAYMENT")
+                .orderId(42L)
+                .userId(7L)
+                .paymentAmount(new BigDecimal("0.001"))
+                .build();
+
+        assertThatThrownBy(() -> paymentAvroCodec.encode(payment)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void encodeResponse_ShouldRoundTrip() {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setEventType("PAYMENT_PROCESSED");
+        payment.setId("6650a1f2c3");
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setTimestamp(LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000));
+        payment.setPaymentAmount(new BigDecimal("199.90"));
+        payment.setUserId(7L);
+        payment.setOrderId(42L);
+
+        assertThat(paymentAvroCodec.decodeResponse(paymentAvroCodec.encode(payment))).isEqualTo(payment);
+    }
+
+    @Test
+    void encodeResponse_ShouldKeepMissingFieldsEmpty() {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setOrderId(42L);
+
+        assertThat(paymentAvroCodec.decodeResponse(paymentAvroCodec.encode(payment))).isEqualTo(payment);
+    }
+
+    @Test
+    void decodeResponse_WhenDataIsNotAvro_ShouldFail() {
+        assertThatThrownBy(() -> paymentAvroCodec.decodeResponse("{\"orderId\":42}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.exception.order.OrderNotFoundException;
+import innowise.order_service.service.kafka.PaymentBatchConsumerService;
+import innowise.order_service.service.kafka.PaymentRetryPublisher;
+import innowise.order_service.service.payment.PaymentEventService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentBatchConsumerServiceUnitTest {
+    @Mock
+    private PaymentEventService paymentEventService;
+
+    @Mock
+    private PaymentRetryPublisher paymentRetryPublisher;
+
+    @InjectMocks
+    private PaymentBatchConsumerService paymentBatchConsumerService;
+
+    @Test
+    void listenPaymentEvents_ShouldApplyWholeBatchAtOnce() {
+        List<PaymentResponseDto> payments = List.of(payment("p-1", 1L), payment("p-2", 2L));
+
+        paymentBatchConsumerService.listenPaymentEvents(payments);
+
+        verify(paymentEventService).processBatch(payments);
+        verify(paymentEventService, never()).process(any());
+        verify(paymentRetryPublisher, never()).forward(any(), any());
+    }
+
+    @Test
+    void listenPaymentEvents_WhenBatchFails_ShouldParkOnlyFailingOrders() {
+        PaymentResponseDto unknownOrder = payment("p-1", 1L);
+        PaymentResponseDto healthyOrder = payment("p-2", 2L);
+        PaymentResponseDto laterUnknownOrder = payment("p-3", 1L);
+        OrderNotFoundException failure = new OrderNotFoundException("Order 1 not found");
+        doThrow(failure).when(paymentEventService).processBatch(anyList());
+        doThrow(failure).when(paymentEventService).process(unknownOrder);
+
+        paymentBatchConsumerService.listenPaymentEvents(List.of(unknownOrder, healthyOrder, laterUnknownOrder));
+
+        verify(paymentEventService).process(healthyOrder);
+        verify(paymentRetryPublisher).forward(unknownOrder, failure);
+        verify(paymentRetryPublisher).forward(eq(laterUnknownOrder), any(IllegalStateException.class));
+    }
+
+    private static PaymentResponseDto payment(String id, long orderId) {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setId(id);
+        payment.setOrderId(orderId);
+        payment.setStatus(PaymentStatus.COMPLETED);
+        return payment;
+    }
+}
@@ -0,0 +1,120 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.PaymentBackpressureProperties;
+import innowise.order_service.service.kafka.PaymentConsumerBackpressure;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentConsumerBackpressureUnitTest {
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    @Mock
+    private MessageListenerContainer paymentsContainer;
+
+    @Mock
+    private MessageListenerContainer userEventsContainer;
+
+    private final AtomicInteger pendingConnections = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private Timer connectionUsage;
+    private PaymentConsumerBackpressure backpressure;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Gauge.builder("hikaricp.connections.pending", pendingConnections, AtomicInteger::get)
+                .register(meterRegistry);
+        connectionUsage = Timer.builder("hikaricp.connections.usage").register(meterRegistry);
+
+        PaymentBackpressureProperties properties = new PaymentBackpressureProperties();
+        properties.setMinPauseDuration(Duration.ZERO);
+        properties.setMinLatencySamples(2);
+        backpressure = new PaymentConsumerBackpressure(listenerRegistry, kafkaAdmin, properties, meterRegistry);
+
+        lenient().when(paymentsContainer.getListenerId()).thenReturn("payments-listener");
+        lenient().when(userEventsContainer.getListenerId()).thenReturn("user-events");
+        lenient().when(listenerRegistry.getAllListenerContainers()).thenReturn(List.of(paymentsContainer, userEventsContainer));
+    }
+
+    @Test
+    void checkDatabasePressure_WhenThreadsWaitForConnections_ShouldPausePaymentListenersOnly() {
+        pendingConnections.set(6);
+
+        backpressure.checkDatabasePressure();
+
+        assertThat(backpressure.isPaused()).isTrue();
+        verify(paymentsContainer).pause();
+        verify(userEventsContainer, never()).pause();
+        assertThat(meterRegistry.get("payment.consumer.pauses").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payment.consumer.paused").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void checkDatabasePressure_WhenConnectionsAreHeldTooLong_ShouldPause() {
+        connectionUsage.record(Duration.ofMillis(400));
+        connectionUsage.record(Duration.ofMillis(300));
+
+        backpressure.checkDatabasePressure();
+
+        assertThat(backpressure.isPaused()).isTrue();
+    }
+
+    @Test
+    void checkDatabasePressure_WhenSingleConnectionIsHeldLong_ShouldIgnoreIt() {
+        connectionUsage.record(Duration.ofSeconds(2));
+
+        backpressure.checkDatabasePressure();
+
+        assertThat(backpressure.isPaused()).isFalse();
+    }
+
+    @Test
+    void checkDatabasePressure_ShouldResumeOnlyBelowLowerThresholds() {
+        pendingConnections.set(6);
+        backpressure.checkDatabasePressure();
+
+        pendingConnections.set(2);
+        backpressure.checkDatabasePressure();
+        assertThat(backpressure.isPaused()).isTrue();
+
+        pendingConnections.set(0);
+        connectionUsage.record(Duration.ofMillis(150));
+        connectionUsage.record(Duration.ofMillis(150));
+        backpressure.checkDatabasePressure();
+        assertThat(backpressure.isPaused()).isTrue();
+
+        connectionUsage.record(Duration.ofMillis(20));
+        connectionUsage.record(Duration.ofMillis(20));
+        backpressure.checkDatabasePressure();
+
+        assertThat(backpressure.isPaused()).isFalse();
+        verify(paymentsContainer, times(1)).resume();
+        verify(userEventsContainer, never()).resume();
+        assertThat(meterRegistry.get("payment.consumer.resumes").counter().count()).isEqualTo(1);
+    }
+}
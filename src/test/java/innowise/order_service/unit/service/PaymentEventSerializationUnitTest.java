@@ -0,0 +1,91 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.PaymentSerializationProperties;
+import innowise.order_service.dto.payment.PaymentRequestDto;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.service.kafka.PaymentAvroCodec;
+import innowise.order_service.service.kafka.PaymentEventSerializer;
+import innowise.order_service.service.kafka.PaymentMessageConverter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageHeaders;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentEventSerializationUnitTest {
+    private final PaymentAvroCodec paymentAvroCodec = new PaymentAvroCodec();
+    private final PaymentMessageConverter paymentMessageConverter = new PaymentMessageConverter(paymentAvroCodec);
+    private PaymentEventSerializer paymentEventSerializer;
+
+    @BeforeEach
+    void setUp() {
+        PaymentSerializationProperties properties = new PaymentSerializationProperties();
+        properties.setTopics(Map.of("orders", PaymentSerializationProperties.Format.AVRO));
+        paymentEventSerializer = new PaymentEventSerializer(paymentAvroCodec, properties);
+        paymentEventSerializer.configure(Map.of(), false);
+    }
+
+    @Test
+    void serialize_WhenTopicIsAvro_ShouldEncodeAvroAndMarkContentType() {
+        Headers headers = new RecordHeaders();
+        PaymentRequestDto payment = paymentRequest();
+
+        byte[] data = paymentEventSerializer.serialize("orders", headers, payment);
+
+        assertThat(new String(headers.lastHeader(MessageHeaders.CONTENT_TYPE).value(), StandardCharsets.UTF_8))
+                .isEqualTo(PaymentAvroCodec.CONTENT_TYPE);
+        assertThat(paymentAvroCodec.decodeRequest(data)).isEqualTo(payment);
+    }
+
+    @Test
+    void serialize_WhenTopicIsNotConfigured_ShouldKeepJson() {
+        Headers headers = new RecordHeaders();
+
+        byte[] data = paymentEventSerializer.serialize("payments-audit", headers, paymentRequest());
+
+        assertThat(headers.lastHeader(MessageHeaders.CONTENT_TYPE)).isNull();
+        assertThat(new String(data, StandardCharsets.UTF_8)).contains("\"orderId\":42");
+    }
+
+    @Test
+    void converter_ShouldDecodeAvroAndJsonRecordsOfSameTopic() {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setId("p-1");
+        payment.setOrderId(42L);
+        payment.setStatus(PaymentStatus.COMPLETED);
+        Headers avroHeaders = new RecordHeaders();
+        avroHeaders.add(MessageHeaders.CONTENT_TYPE, PaymentAvroCodec.CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+        byte[] json = "{\"id\":\"p-1\",\"orderId\":42,\"status\":\"COMPLETED\"}".getBytes(StandardCharsets.UTF_8);
+
+        Object fromAvro = convert(paymentAvroCodec.encode(payment), avroHeaders);
+        Object fromJson = convert(json, new RecordHeaders());
+
+        assertThat(fromAvro).isEqualTo(payment);
+        assertThat(fromJson).isEqualTo(payment);
+    }
+
+    private Object convert(byte[] value, Headers headers) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("payments", 0, 0L, 0L,
+                TimestampType.CREATE_TIME, 0, value.length, "42", value, headers, Optional.empty());
+        return paymentMessageConverter.toMessage(record, null, null, PaymentResponseDto.class).getPayload();
+    }
+
+    private static PaymentRequestDto paymentRequest() {
+        return PaymentRequestDto.builder()
+                .eventType("CREATE_PAYMENT")
+                .orderId(42L)
+                .userId(7L)
+                .paymentAmount(new BigDecimal("20.00"))
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.PaymentDedupeProperties;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.entity.OrderStatus;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.ProcessedPaymentEventRepository;
+import innowise.order_service.repository.projection.PaymentWaitingProjection;
+import innowise.order_service.service.OrderService;
+import innowise.order_service.service.payment.PaymentEventService;
+import innowise.order_service.service.payment.PaymentRoundTripMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentEventServiceUnitTest {
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ProcessedPaymentEventRepository processedPaymentEventRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private PaymentEventService paymentEventService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentEventService = new PaymentEventService(orderService, processedPaymentEventRepository,
+                new PaymentDedupeProperties(), new PaymentRoundTripMetrics(orderRepository, meterRegistry),
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    void process_WhenEventIsNew_ShouldUpdateOrderStatus() {
+        when(processedPaymentEventRepository.insertIfAbsent(eq("p-1"), any(LocalDateTime.class))).thenReturn(1);
+
+        paymentEventService.process(payment("p-1", 1L, PaymentStatus.COMPLETED));
+
+        verify(orderService).applyPaymentStatus(1L, OrderStatus.PAYMENT_RECEIVED);
+        assertThat(meterRegistry.get("payment.events.processed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void process_WhenEventIsRedelivered_ShouldSkipItFromMemory() {
+        when(processedPaymentEventRepository.insertIfAbsent(eq("p-1"), any(LocalDateTime.class))).thenReturn(1);
+
+        paymentEventService.process(payment("p-1", 1L, PaymentStatus.COMPLETED));
+        paymentEventService.process(payment("p-1", 1L, PaymentStatus.COMPLETED));
+
+        verify(orderService, times(1)).applyPaymentStatus(anyLong(), any());
+        verify(processedPaymentEventRepository, times(1)).insertIfAbsent(any(), any());
+        assertThat(meterRegistry.get("payment.events.duplicates").tag("source", "memory").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void process_WhenEventIsAlreadyInDatabase_ShouldNotTouchOrders() {
+        when(processedPaymentEventRepository.insertIfAbsent(eq("p-1"), any(LocalDateTime.class))).thenReturn(0);
+
+        paymentEventService.process(payment("p-1", 1L, PaymentStatus.COMPLETED));
+
+        verify(orderService, never()).applyPaymentStatus(anyLong(), any());
+        assertThat(meterRegistry.get("payment.events.duplicates").tag("source", "database").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void processBatch_ShouldKeepLatestNewEventPerOrder() {
+        when(processedPaymentEventRepository.insertAbsent(any(String[].class), any(LocalDateTime.class)))
+                .thenReturn(List.of("p-1", "p-2", "p-3"));
+
+        paymentEventService.processBatch(List.of(
+                payment("p-1", 1L, PaymentStatus.FAILED),
+                payment("p-2", 2L, PaymentStatus.COMPLETED),
+                payment("p-3", 1L, PaymentStatus.COMPLETED),
+                payment("p-4", 3L, PaymentStatus.FAILED)));
+
+        verify(orderService).applyPaymentStatuses(Map.of(
+                1L, OrderStatus.PAYMENT_RECEIVED,
+                2L, OrderStatus.PAYMENT_RECEIVED));
+        assertThat(meterRegistry.get("payment.events.duplicates").tag("source", "database").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void processBatch_WhenEventIsRepeatedInBatch_ShouldApplyItOnce() {
+        when(processedPaymentEventRepository.insertAbsent(any(String[].class), any(LocalDateTime.class)))
+                .thenReturn(List.of("p-1", "p-2"));
+
+        paymentEventService.processBatch(List.of(
+                payment("p-1", 1L, PaymentStatus.COMPLETED),
+                payment("p-2", 2L, PaymentStatus.FAILED),
+                payment("p-1", 1L, PaymentStatus.COMPLETED)));
+
+        verify(processedPaymentEventRepository).insertAbsent(eq(new String[]{"p-1", "p-2"}), any(LocalDateTime.class));
+        verify(orderService).applyPaymentStatuses(Map.of(
+                1L, OrderStatus.PAYMENT_RECEIVED,
+                2L, OrderStatus.PAYMENT_FAILED));
+        assertThat(meterRegistry.get("payment.events.processed").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("payment.events.duplicates").tag("source", "memory").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("payment.events.duplicates").tag("source", "database").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void processBatch_ShouldRecordRoundTripOncePerWaitingOrder() {
+        when(processedPaymentEventRepository.insertAbsent(any(String[].class), any(LocalDateTime.class)))
+                .thenReturn(List.of("p-1", "p-2", "p-3"));
+        when(orderRepository.findPaymentWaitingByIdIn(any())).thenReturn(List.of(
+                new PaymentWaitingProjection(1L, LocalDateTime.now().minusSeconds(2)),
+                new PaymentWaitingProjection(2L, LocalDateTime.now().minusSeconds(1))));
+
+        paymentEventService.processBatch(List.of(
+                payment("p-1", 1L, PaymentStatus.COMPLETED),
+                payment("p-2", 2L, PaymentStatus.FAILED),
+                payment("p-3", 1L, PaymentStatus.COMPLETED)));
+
+        Timer completed = meterRegistry.get("payment.round.trip").tag("outcome", "COMPLETED").timer();
+        Timer failed = meterRegistry.get("payment.round.trip").tag("outcome", "FAILED").timer();
+        assertThat(completed.count()).isEqualTo(1);
+        assertThat(completed.totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(2);
+        assertThat(failed.count()).isEqualTo(1);
+    }
+
+    @Test
+    void process_WhenOrderIsNotWaitingForPayment_ShouldNotRecordRoundTrip() {
+        when(processedPaymentEventRepository.insertIfAbsent(eq("p-1"), any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findPaymentWaitingByIdIn(List.of(1L))).thenReturn(List.of());
+
+        paymentEventService.process(payment("p-1", 1L, PaymentStatus.COMPLETED));
+
+        verify(orderService).applyPaymentStatus(1L, OrderStatus.PAYMENT_RECEIVED);
+        assertThat(meterRegistry.get("payment.round.trip").tag("outcome", "COMPLETED").timer().count()).isZero();
+    }
+
+    private static PaymentResponseDto payment(String id, long orderId, PaymentStatus status) {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setId(id);
+        payment.setOrderId(orderId);
+        payment.setStatus(status);
+        return payment;
+    }
+}
@@ -0,0 +1,173 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.PaymentConsumerProperties;
+import innowise.order_service.dto.payment.PaymentResponseDto;
+import innowise.order_service.dto.payment.PaymentStatus;
+import innowise.order_service.service.kafka.PaymentParallelConsumerService;
+import innowise.order_service.service.kafka.PaymentRetryPublisher;
+import innowise.order_service.service.payment.PaymentEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentParallelConsumerServiceUnitTest {
+    @Mock
+    private PaymentEventService paymentEventService;
+
+    @Mock
+    private PaymentRetryPublisher paymentRetryPublisher;
+
+    private PaymentParallelConsumerService paymentParallelConsumerService;
+
+    private PaymentConsumerProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PaymentConsumerProperties();
+        properties.getParallel().setWorkers(4);
+        properties.getParallel().setRetryBackoff(Duration.ofMillis(1));
+        properties.getParallel().setShutdownTimeout(Duration.ofMillis(100));
+        paymentParallelConsumerService = new PaymentParallelConsumerService(paymentEventService, paymentRetryPublisher,
+                properties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        paymentParallelConsumerService.shutdown();
+    }
+
+    @Test
+    void listenPaymentEvent_ShouldKeepOrderForSameOrderWhileOtherOrdersProceed() throws Exception {
+        CountDownLatch firstEventStarted = new CountDownLatch(1);
+        CountDownLatch otherOrderProcessed = new CountDownLatch(1);
+        List<PaymentStatus> appliedStatuses = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            PaymentResponseDto payment = invocation.getArgument(0);
+            if (payment.getOrderId() == 1L) {
+                if (appliedStatuses.isEmpty()) {
+                    firstEventStarted.countDown();
+                    otherOrderProcessed.await(5, TimeUnit.SECONDS);
+                }
+                appliedStatuses.add(payment.getStatus());
+            } else {
+                otherOrderProcessed.countDown();
+            }
+            return null;
+        }).when(paymentEventService).process(any(PaymentResponseDto.class));
+
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment second = mock(Acknowledgment.class);
+        Acknowledgment other = mock(Acknowledgment.class);
+        paymentParallelConsumerService.listenPaymentEvent(payment(1L, PaymentStatus.FAILED), first);
+        assertThat(firstEventStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        paymentParallelConsumerService.listenPaymentEvent(payment(1L, PaymentStatus.COMPLETED), second);
+        paymentParallelConsumerService.listenPaymentEvent(payment(2L, PaymentStatus.FAILED), other);
+
+        verify(second, timeout(5000)).acknowledge();
+        verify(first).acknowledge();
+        verify(other).acknowledge();
+        assertThat(appliedStatuses).containsExactly(PaymentStatus.FAILED, PaymentStatus.COMPLETED);
+    }
+
+    @Test
+    void listenPaymentEvent_WhenUpdateKeepsFailing_ShouldRetryParkAndAcknowledge() throws Exception {
+        PaymentResponseDto payment = payment(3L, PaymentStatus.COMPLETED);
+        IllegalStateException failure = new IllegalStateException("Database is not available");
+        doThrow(failure).when(paymentEventService).process(payment);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        paymentParallelConsumerService.listenPaymentEvent(payment, acknowledgment);
+
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        verify(paymentEventService, times(3)).process(payment);
+        verify(paymentRetryPublisher).forward(payment, failure);
+    }
+
+    @Test
+    void listenPaymentEvent_WhenParkFails_ShouldKeepRetryingAndAcknowledgeOnlyOnceParked() throws Exception {
+        PaymentResponseDto payment = payment(4L, PaymentStatus.COMPLETED);
+        IllegalStateException failure = new IllegalStateException("Database is not available");
+        doThrow(failure).when(paymentEventService).process(payment);
+        doThrow(new KafkaException("Broker is not available")).doNothing()
+                .when(paymentRetryPublisher).forward(payment, failure);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        paymentParallelConsumerService.listenPaymentEvent(payment, acknowledgment);
+
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        verify(paymentEventService, times(6)).process(payment);
+        verify(paymentRetryPublisher, times(2)).forward(payment, failure);
+    }
+
+    @Test
+    void shutdown_WhenEventCanNotBeParked_ShouldLeaveItUnacknowledged() throws Exception {
+        PaymentResponseDto payment = payment(5L, PaymentStatus.COMPLETED);
+        IllegalStateException failure = new IllegalStateException("Database is not available");
+        doThrow(failure).when(paymentEventService).process(payment);
+        doThrow(new KafkaException("Broker is not available")).when(paymentRetryPublisher).forward(payment, failure);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        paymentParallelConsumerService.listenPaymentEvent(payment, acknowledgment);
+        verify(paymentRetryPublisher, timeout(5000).atLeastOnce()).forward(payment, failure);
+        paymentParallelConsumerService.shutdown();
+
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void listenPaymentEvent_WhenWorkersSaturated_ShouldFailRecordAfterAcquireTimeout() throws Exception {
+        paymentParallelConsumerService.shutdown();
+        properties.getParallel().setMaxInFlight(1);
+        properties.getParallel().setAcquireTimeout(Duration.ofMillis(100));
+        paymentParallelConsumerService = new PaymentParallelConsumerService(paymentEventService, paymentRetryPublisher,
+                properties);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(paymentEventService)
+                .process(any(PaymentResponseDto.class));
+        Acknowledgment first = mock(Acknowledgment.class);
+        Acknowledgment saturated = mock(Acknowledgment.class);
+        Acknowledgment next = mock(Acknowledgment.class);
+
+        paymentParallelConsumerService.listenPaymentEvent(payment(6L, PaymentStatus.COMPLETED), first);
+
+        assertThatThrownBy(() -> paymentParallelConsumerService.listenPaymentEvent(
+                payment(7L, PaymentStatus.COMPLETED), saturated))
+                .isInstanceOf(KafkaException.class);
+        release.countDown();
+        paymentParallelConsumerService.listenPaymentEvent(payment(7L, PaymentStatus.COMPLETED), next);
+
+        verify(first, timeout(5000)).acknowledge();
+        verify(next, timeout(5000)).acknowledge();
+        verify(saturated, never()).acknowledge();
+    }
+
+    private static PaymentResponseDto payment(long orderId, PaymentStatus status) {
+        PaymentResponseDto payment = new PaymentResponseDto();
+        payment.setOrderId(orderId);
+        payment.setStatus(status);
+        return payment;
+    }
+}
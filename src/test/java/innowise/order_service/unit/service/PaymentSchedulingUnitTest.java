@@ -0,0 +1,86 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.PaymentBackpressureProperties;
+import innowise.order_service.config.PaymentOutboxProperties;
+import innowise.order_service.config.SchedulingConfig;
+import innowise.order_service.entity.PaymentOutboxEvent;
+import innowise.order_service.repository.PaymentOutboxRepository;
+import innowise.order_service.service.kafka.KafkaProducerService;
+import innowise.order_service.service.kafka.PaymentConsumerBackpressure;
+import innowise.order_service.service.outbox.PaymentOutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {SchedulingConfig.class, TaskSchedulingAutoConfiguration.class,
+        ConfigurationPropertiesAutoConfiguration.class, PaymentOutboxProperties.class,
+        PaymentBackpressureProperties.class, PaymentOutboxRelay.class, PaymentConsumerBackpressure.class,
+        SimpleMeterRegistry.class},
+        properties = {
+                "payments.outbox.enabled=true",
+                "payments.outbox.relay-interval=50ms",
+                "payments.outbox.send-timeout=10s",
+                "payments.backpressure.enabled=true",
+                "payments.backpressure.check-interval=50ms",
+                "payments.backpressure.lag-interval=1h",
+                "payments.backpressure.pause-pending-connections=0",
+                "payments.backpressure.min-pause-duration=0s"
+        })
+class PaymentSchedulingUnitTest {
+    @MockitoBean
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @MockitoBean
+    private KafkaAdmin kafkaAdmin;
+
+    private final CountDownLatch relayBlocked = new CountDownLatch(1);
+
+    @Test
+    void backpressureCheck_ShouldKeepRunning_WhileOutboxRelayIsBlockedOnKafka() throws Exception {
+        when(paymentOutboxRepository.lockPendingEvents(anyInt())).thenReturn(List.of(PaymentOutboxEvent.builder()
+                .id(1L)
+                .orderId(1L)
+                .userId(1L)
+                .createdAt(LocalDateTime.now())
+                .build()));
+        when(kafkaProducerService.send(any())).thenAnswer(invocation -> {
+            relayBlocked.countDown();
+            return new CompletableFuture<>();
+        });
+
+        assertThat(relayBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        clearInvocations(listenerRegistry);
+
+        verify(listenerRegistry, timeout(3000).atLeast(3)).getAllListenerContainers();
+    }
+}
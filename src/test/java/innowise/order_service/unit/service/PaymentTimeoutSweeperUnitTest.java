@@ -0,0 +1,83 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.PaymentTimeoutProperties;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.service.payment.PaymentTimeoutSweeper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentTimeoutSweeperUnitTest {
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private PaymentTimeoutProperties paymentTimeoutProperties;
+    private PaymentTimeoutSweeper paymentTimeoutSweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentTimeoutProperties = new PaymentTimeoutProperties();
+        paymentTimeoutProperties.setBatchSize(2);
+        paymentTimeoutProperties.setMaxBatchesPerRun(3);
+        paymentTimeoutSweeper = new PaymentTimeoutSweeper(orderRepository, paymentTimeoutProperties,
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    void sweepTimedOutPayments_ShouldSweepUntilBatchIsNotFull() {
+        when(orderRepository.tryAdvisoryTransactionLock(PaymentTimeoutSweeper.SWEEP_LOCK_KEY)).thenReturn(true);
+        when(orderRepository.failPaymentWaitingBefore(any(LocalDateTime.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(2, 1);
+
+        paymentTimeoutSweeper.sweepTimedOutPayments();
+
+        verify(orderRepository, times(2)).failPaymentWaitingBefore(any(), any(), anyInt());
+        assertThat(meterRegistry.get("payment.timeout.orders").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void sweepTimedOutPayments_ShouldStopAfterMaxBatchesPerRun() {
+        when(orderRepository.tryAdvisoryTransactionLock(PaymentTimeoutSweeper.SWEEP_LOCK_KEY)).thenReturn(true);
+        when(orderRepository.failPaymentWaitingBefore(any(LocalDateTime.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(2);
+
+        paymentTimeoutSweeper.sweepTimedOutPayments();
+
+        verify(orderRepository, times(3)).failPaymentWaitingBefore(any(), any(), anyInt());
+        assertThat(meterRegistry.get("payment.timeout.orders").counter().count()).isEqualTo(6);
+    }
+
+    @Test
+    void sweepTimedOutPayments_WhenAnotherInstanceHoldsLock_ShouldSkipSweep() {
+        when(orderRepository.tryAdvisoryTransactionLock(anyLong())).thenReturn(false);
+
+        paymentTimeoutSweeper.sweepTimedOutPayments();
+
+        verify(orderRepository, never()).failPaymentWaitingBefore(any(), any(), anyInt());
+        assertThat(meterRegistry.get("payment.timeout.sweeps.skipped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payment.timeout.orders").counter().count()).isZero();
+    }
+}
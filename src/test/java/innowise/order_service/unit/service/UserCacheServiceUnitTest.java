@@ -0,0 +1,97 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.AsyncConfig;
+import innowise.order_service.config.UserServiceProperties;
+import innowise.order_service.dto.user.UserResponseDto;
+import innowise.order_service.service.UserCacheService;
+import innowise.order_service.service.UserRequestCoalescer;
+import innowise.order_service.service.UserServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SpringBootTest(classes = {UserCacheService.class, UserServiceProperties.class, SimpleMeterRegistry.class,
+        AsyncConfig.class})
+class UserCacheServiceUnitTest {
+
+    @MockitoBean
+    private UserRequestCoalescer userRequestCoalescer;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private UserServiceProperties userServiceProperties;
+
+    private static UserResponseDto userResponseDto;
+    private static final Long USER_ID = 100L;
+
+    @BeforeAll
+    static void setUpAll() {
+        userResponseDto = UserResponseDto.builder()
+                .id(USER_ID)
+                .name("Test User")
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        userServiceProperties.getCache().setEnabled(true);
+        userCacheService.evictAll();
+    }
+
+    @Test
+    void getUserById_WhenCalledTwice_ShouldCallUserServiceOnce() {
+        when(userRequestCoalescer.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        assertThat(userCacheService.getUserById(USER_ID)).isEqualTo(userResponseDto);
+        assertThat(userCacheService.getUserById(USER_ID)).isEqualTo(userResponseDto);
+
+        verify(userRequestCoalescer, times(1)).getUserById(USER_ID);
+    }
+
+    @Test
+    void getUserById_WhenUserServiceUnavailable_ShouldNotCachePlaceholder() {
+        when(userRequestCoalescer.getUserById(USER_ID)).thenReturn(UserServiceClient.unavailableUser(USER_ID));
+
+        assertThat(userCacheService.getUserById(USER_ID)).isEqualTo(UserServiceClient.unavailableUser(USER_ID));
+        assertThat(userCacheService.getUserById(USER_ID)).isEqualTo(UserServiceClient.unavailableUser(USER_ID));
+
+        verify(userRequestCoalescer, times(2)).getUserById(USER_ID);
+        assertThat(userCacheService.size()).isZero();
+    }
+
+    @Test
+    void evict_ShouldReloadUserOnNextCall() {
+        when(userRequestCoalescer.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        userCacheService.getUserById(USER_ID);
+        userCacheService.evict(USER_ID);
+        userCacheService.getUserById(USER_ID);
+
+        verify(userRequestCoalescer, times(2)).getUserById(USER_ID);
+    }
+
+    @Test
+    void getUserById_WhenCacheDisabled_ShouldAlwaysCallUserService() {
+        userServiceProperties.getCache().setEnabled(false);
+        when(userRequestCoalescer.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        userCacheService.getUserById(USER_ID);
+        userCacheService.getUserById(USER_ID);
+
+        verify(userRequestCoalescer, times(2)).getUserById(USER_ID);
+    }
+}
@@ -0,0 +1,167 @@
+package innowise.order_service.unit.service;
+
+import innowise.order_service.config.UserServiceProperties;
+import innowise.order_service.dto.user.UserResponseDto;
+import innowise.order_service.service.UserRequestCoalescer;
+import innowise.order_service.service.UserServiceCircuitBreakerClient;
+import innowise.order_service.service.UserServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SpringBootTest(classes = {UserRequestCoalescer.class, UserServiceProperties.class, SimpleMeterRegistry.class})
+class UserRequestCoalescerUnitTest {
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @MockitoBean
+    private UserServiceCircuitBreakerClient circuitBreakerClient;
+
+    @Autowired
+    private UserRequestCoalescer userRequestCoalescer;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    @Autowired
+    private UserServiceProperties userServiceProperties;
+
+    private static UserResponseDto userResponseDto;
+    private static final Long USER_ID = 100L;
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @BeforeAll
+    static void setUpAll() {
+        userResponseDto = UserResponseDto.builder()
+                .id(USER_ID)
+                .name("Test User")
+                .build();
+    }
+
+    @Test
+    void getUserById_WhenConcurrentRequestsForSameUser_ShouldCallUserServiceOnce() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(userServiceClient.getUserById(USER_ID)).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return userResponseDto;
+        });
+        double coalescedBefore = coalescedRequests();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            CompletableFuture<UserResponseDto> leader = CompletableFuture.supplyAsync(
+                    () -> userRequestCoalescer.getUserById(USER_ID), executor);
+            callStarted.await(5, TimeUnit.SECONDS);
+
+            CompletableFuture<?>[] followers = new CompletableFuture<?>[CONCURRENT_REQUESTS - 1];
+            for (int i = 0; i < followers.length; i++) {
+                followers[i] = CompletableFuture.supplyAsync(() -> userRequestCoalescer.getUserById(USER_ID), executor);
+            }
+            waitForFollowers(coalescedBefore, followers.length);
+            releaseCall.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(userResponseDto);
+            for (CompletableFuture<?> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(userResponseDto);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userServiceClient, times(1)).getUserById(USER_ID);
+    }
+
+    @Test
+    void getUserById_WhenUserServiceFails_ShouldPropagateExceptionAndAllowNextCall() {
+        when(userServiceClient.getUserById(USER_ID))
+                .thenThrow(new IllegalStateException("user-service is down"))
+                .thenReturn(userResponseDto);
+
+        assertThatThrownBy(() -> userRequestCoalescer.getUserById(USER_ID))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(userRequestCoalescer.getUserById(USER_ID)).isEqualTo(userResponseDto);
+
+        verify(userServiceClient, times(2)).getUserById(USER_ID);
+    }
+
+    @Test
+    void getUserById_WhenUserServiceCallFailsWithError_ShouldReleaseJoinedRequests() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(userServiceClient.getUserById(USER_ID)).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            throw new StackOverflowError();
+        });
+        double coalescedBefore = coalescedRequests();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<UserResponseDto> leader = CompletableFuture.supplyAsync(
+                    () -> userRequestCoalescer.getUserById(USER_ID), executor);
+            callStarted.await(5, TimeUnit.SECONDS);
+
+            CompletableFuture<UserResponseDto> follower = CompletableFuture.supplyAsync(
+                    () -> userRequestCoalescer.getUserById(USER_ID), executor);
+            waitForFollowers(coalescedBefore, 1);
+            releaseCall.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(StackOverflowError.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userServiceClient, times(1)).getUserById(USER_ID);
+    }
+
+    @Test
+    void getUserById_WhenCircuitBreakerEnabled_ShouldUseCircuitBreakerClient() {
+        userServiceProperties.getCircuitBreaker().setEnabled(true);
+        when(circuitBreakerClient.getUserById(USER_ID)).thenReturn(userResponseDto);
+
+        try {
+            assertThat(userRequestCoalescer.getUserById(USER_ID)).isEqualTo(userResponseDto);
+        } finally {
+            userServiceProperties.getCircuitBreaker().setEnabled(false);
+        }
+
+        verify(circuitBreakerClient).getUserById(USER_ID);
+        verify(userServiceClient, never()).getUserById(USER_ID);
+    }
+
+    private void waitForFollowers(double coalescedBefore, int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedRequests() - coalescedBefore < followers && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private double coalescedRequests() {
+        return meterRegistry.counter("user.service.requests.coalesced").count();
+    }
+}
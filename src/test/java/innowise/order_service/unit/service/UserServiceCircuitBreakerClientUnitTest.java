@@ -0,0 +1,95 @@
+package innowise.order_service.unit.service;
+
+import feign.FeignException;
+import feign.Request;
+import innowise.order_service.dto.user.UserResponseDto;
+import innowise.order_service.service.UserServiceCircuitBreakerClient;
+import innowise.order_service.service.UserServiceClient;
+import innowise.order_service.service.UserServiceFeignClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SpringBootTest(classes = {
+        UserServiceCircuitBreakerClient.class,
+        SimpleMeterRegistry.class,
+        UserServiceCircuitBreakerClientUnitTest.CircuitBreakerTestConfiguration.class
+})
+class UserServiceCircuitBreakerClientUnitTest {
+
+    @MockitoBean
+    private UserServiceFeignClient feignClient;
+
+    @Autowired
+    private UserServiceCircuitBreakerClient circuitBreakerClient;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    private static UserResponseDto userResponseDto;
+    private static final Long USER_ID = 100L;
+    private static final int MINIMUM_CALLS = 4;
+
+    @TestConfiguration
+    static class CircuitBreakerTestConfiguration {
+        @Bean
+        CircuitBreakerRegistry circuitBreakerRegistry() {
+            return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                    .slidingWindowSize(MINIMUM_CALLS)
+                    .minimumNumberOfCalls(MINIMUM_CALLS)
+                    .failureRateThreshold(50)
+                    .waitDurationInOpenState(Duration.ofMinutes(1))
+                    .build());
+        }
+    }
+
+    @BeforeAll
+    static void setUpAll() {
+        userResponseDto = UserResponseDto.builder()
+                .id(USER_ID)
+                .name("Test User")
+                .build();
+    }
+
+    @Test
+    void getUserById_WhenUserServiceKeepsFailing_ShouldOpenCircuitAndFailFast() {
+        when(feignClient.getUserById(USER_ID)).thenThrow(serverError());
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThat(circuitBreakerClient.getUserById(USER_ID)).isEqualTo(UserServiceClient.unavailableUser(USER_ID));
+        }
+        assertThat(circuitBreakerClient.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThat(circuitBreakerClient.getUserById(USER_ID)).isEqualTo(UserServiceClient.unavailableUser(USER_ID));
+
+        verify(feignClient, times(MINIMUM_CALLS)).getUserById(USER_ID);
+        assertThat(meterRegistry.counter("user.service.circuit.transitions", "from", "CLOSED", "to", "OPEN").count())
+                .isEqualTo(1);
+    }
+
+    private static FeignException serverError() {
+        Request request = Request.create(Request.HttpMethod.GET, "/api/user/me", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        return new FeignException.InternalServerError("user-service error", request, null, Map.of());
+    }
+}